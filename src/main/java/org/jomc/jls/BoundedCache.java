@@ -0,0 +1,389 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jomc.jls.spi.Cache;
+
+/**
+ * Concurrent cache bounded in size.
+ * <p>
+ * Reads are lock-free. Every read records the frequency of the key in an approximate frequency sketch. Writes
+ * exceeding the maximum size admit the new entry only if its key has been requested at least as frequently as the key
+ * of the oldest entry, so that rarely requested keys cannot displace frequently requested ones.
+ * </p>
+ * <p>
+ * The keys are distributed over segments by their hash codes. Each segment holds an equal share of the maximum number
+ * of entries and admits and evicts the entries of its keys on its own. Writes to a segment are serialized by a lock of
+ * the segment, so that the entries of a segment and their admission order are always updated together, whereas writes
+ * to different segments do not contend. The cache may hold less than the maximum number of entries, if the keys are
+ * not distributed evenly over the segments.
+ * </p>
+ *
+ * @param <K> The type of the keys of the cache.
+ * @param <V> The type of the values of the cache.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+final class BoundedCache<K, V> implements Cache<K, V>
+{
+
+    /**
+     * Default maximum number of entries of a cache.
+     */
+    static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    /**
+     * Minimum number of entries of a segment of a cache created with the default number of segments.
+     */
+    private static final int MINIMUM_SEGMENT_SIZE = 64;
+
+    /**
+     * The entries of the cache.
+     */
+    private final ConcurrentMap<K, V> map;
+
+    /**
+     * The segments of the cache.
+     */
+    private final Segment<K>[] segments;
+
+    /**
+     * The frequencies of the keys requested from the cache.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * The number of entries evicted from the cache.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * The number of entries rejected by the cache.
+     */
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Creates a new {@code BoundedCache} instance.
+     * <p>
+     * The number of segments of the cache is the greatest power of two not greater than four times the number of
+     * available processors, limited so that each segment holds at least 64 entries.
+     * </p>
+     *
+     * @param maximumSize The maximum number of entries of the cache.
+     *
+     * @throws IllegalArgumentException if {@code maximumSize} is negative or zero.
+     */
+    BoundedCache( final int maximumSize )
+    {
+        this( maximumSize, Math.max( 1, Math.min( 4 * Runtime.getRuntime().availableProcessors(),
+                                                  maximumSize / MINIMUM_SEGMENT_SIZE ) ) );
+
+    }
+
+    /**
+     * Creates a new {@code BoundedCache} instance.
+     *
+     * @param maximumSize The maximum number of entries of the cache.
+     * @param concurrencyLevel The number of segments of the cache, rounded down to a power of two.
+     *
+     * @throws IllegalArgumentException if {@code maximumSize} or {@code concurrencyLevel} is negative or zero or if
+     * {@code concurrencyLevel} is greater than {@code maximumSize}.
+     */
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    BoundedCache( final int maximumSize, final int concurrencyLevel )
+    {
+        super();
+
+        if ( maximumSize <= 0 )
+        {
+            throw new IllegalArgumentException( Integer.toString( maximumSize ) );
+        }
+        if ( concurrencyLevel <= 0 || concurrencyLevel > maximumSize )
+        {
+            throw new IllegalArgumentException( Integer.toString( concurrencyLevel ) );
+        }
+
+        this.map = new ConcurrentHashMap<>( Math.min( maximumSize, 1024 ) );
+        this.segments = new Segment[ Integer.highestOneBit( concurrencyLevel ) ];
+        this.sketch = new FrequencySketch( maximumSize );
+
+        for ( int i = 0, s0 = this.segments.length; i < s0; i++ )
+        {
+            this.segments[i] = new Segment<>( maximumSize / s0 + ( i < maximumSize % s0 ? 1 : 0 ) );
+        }
+    }
+
+    @Override
+    public V get( final K key )
+    {
+        this.sketch.increment( key.hashCode() );
+        return this.map.get( key );
+    }
+
+    /**
+     * Caches a value unless a value is already cached for a given key.
+     * <p>
+     * If the segment of {@code key} is full, the value is admitted only if its key has been requested at least as
+     * frequently as the key of the oldest entry of the segment, which is then evicted. Otherwise the value is rejected
+     * and the oldest entry is moved to the end of the admission order of the segment.
+     * </p>
+     *
+     * @param key The key of the value to cache.
+     * @param value The value to cache.
+     *
+     * @return The value already cached for {@code key}, {@code value}, if {@code value} has been rejected, or
+     * {@code null}, if {@code value} has been cached.
+     *
+     * @throws NullPointerException if {@code key} or {@code value} is {@code null}.
+     */
+    @Override
+    public V putIfAbsent( final K key, final V value )
+    {
+        Objects.requireNonNull( value, "value" );
+        final Segment<K> segment = this.segmentFor( key.hashCode() );
+        segment.lock.lock();
+
+        try
+        {
+            final V existing = this.map.get( key );
+
+            if ( existing != null )
+            {
+                return existing;
+            }
+
+            if ( segment.keys.size() >= segment.maximumSize )
+            {
+                final K victim = segment.keys.pollFirst();
+
+                // Ties favour the new entry, so that a full cache keeps admitting keys not yet requested repeatedly.
+                if ( this.sketch.frequency( key.hashCode() ) >= this.sketch.frequency( victim.hashCode() ) )
+                {
+                    this.map.remove( victim );
+                    this.evictions.increment();
+                }
+                else
+                {
+                    // Rejects the new entry and gives the victim a second chance.
+                    segment.keys.addLast( victim );
+                    this.rejections.increment();
+                    return value;
+                }
+            }
+
+            this.map.put( key, value );
+            segment.keys.addLast( key );
+            return null;
+        }
+        finally
+        {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        for ( final Segment<K> segment : this.segments )
+        {
+            segment.lock.lock();
+
+            try
+            {
+                for ( final K key : segment.keys )
+                {
+                    this.map.remove( key );
+                }
+
+                segment.keys.clear();
+            }
+            finally
+            {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public long size()
+    {
+        return this.map.size();
+    }
+
+    @Override
+    public long evictionCount()
+    {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public long rejectionCount()
+    {
+        return this.rejections.sum();
+    }
+
+    private Segment<K> segmentFor( final int hash )
+    {
+        return this.segments[( hash ^ ( hash >>> 16 ) ) & ( this.segments.length - 1 )];
+    }
+
+    /**
+     * Keys of a segment of the cache.
+     *
+     * @param <K> The type of the keys of the segment.
+     */
+    private static final class Segment<K>
+    {
+
+        /**
+         * Lock guarding the keys of the segment and their entries.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * The keys of the segment in admission order.
+         */
+        private final ArrayDeque<K> keys;
+
+        /**
+         * The maximum number of entries of the segment.
+         */
+        private final int maximumSize;
+
+        private Segment( final int maximumSize )
+        {
+            super();
+            this.maximumSize = maximumSize;
+            this.keys = new ArrayDeque<>( Math.min( maximumSize, 1024 ) );
+        }
+
+    }
+
+    /**
+     * Approximate frequencies of keys.
+     * <p>
+     * Counts are kept in four rows of 4-bit saturating counters packed sixteen to a {@code long} and are halved
+     * periodically, so that the sketch favours recent over historic frequencies. Updates are not synchronized.
+     * Concurrent updates may get lost, which only affects the accuracy of the approximation.
+     * </p>
+     */
+    private static final class FrequencySketch
+    {
+
+        private static final int[] SEEDS =
+        {
+            0x97cb3127, 0xb7c6a6e1, 0xe6b51c7f, 0x5f1b4ad3
+        };
+
+        private static final int MAXIMUM_COUNT = 15;
+
+        private static final long HALVING_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+
+        private final int width;
+
+        private final int sampleSize;
+
+        private int additions;
+
+        private FrequencySketch( final int maximumSize )
+        {
+            super();
+            this.width = Integer.highestOneBit( Math.max( 16, Math.min( maximumSize, 1 << 24 ) ) - 1 ) << 1;
+            this.table = new long[ SEEDS.length * this.width / 16 ];
+            this.sampleSize = 10 * this.width;
+        }
+
+        private int frequency( final int hash )
+        {
+            int frequency = MAXIMUM_COUNT;
+
+            for ( int i = 0, s0 = SEEDS.length; i < s0; i++ )
+            {
+                frequency = Math.min( frequency, this.count( this.index( hash, i ) ) );
+            }
+
+            return frequency;
+        }
+
+        private void increment( final int hash )
+        {
+            boolean incremented = false;
+
+            for ( int i = 0, s0 = SEEDS.length; i < s0; i++ )
+            {
+                final int index = this.index( hash, i );
+                final int shift = ( index & 15 ) << 2;
+                final long counters = this.table[index >>> 4];
+
+                // Saturated counters are not written to, so that frequent keys do not contend on the table. Writing
+                // the counters read, a lost update can never carry into a neighbouring counter.
+                if ( ( ( counters >>> shift ) & MAXIMUM_COUNT ) < MAXIMUM_COUNT )
+                {
+                    this.table[index >>> 4] = counters + ( 1L << shift );
+                    incremented = true;
+                }
+            }
+
+            if ( incremented && ++this.additions >= this.sampleSize )
+            {
+                this.additions = 0;
+
+                for ( int i = 0, s0 = this.table.length; i < s0; i++ )
+                {
+                    this.table[i] = ( this.table[i] >>> 1 ) & HALVING_MASK;
+                }
+            }
+        }
+
+        private int count( final int index )
+        {
+            return (int) ( this.table[index >>> 4] >>> ( ( index & 15 ) << 2 ) ) & MAXIMUM_COUNT;
+        }
+
+        private int index( final int hash, final int row )
+        {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 16;
+            return row * this.width + ( h & ( this.width - 1 ) );
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.jomc.jls.spi.Cache;
+import org.jomc.jls.spi.CacheProvider;
+
+/**
+ * Statistics of the cache of parsed instances of a class.
+ * <p>
+ * Hits and misses are always counted. Recording of the latencies of requests is enabled by setting the
+ * {@code org.jomc.jls.spi.CacheProvider.statistics} system property to {@code true}. When enabled, the statistics are
+ * registered with the platform MBean server.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+final class CacheMonitor implements CacheStatisticsMXBean
+{
+
+    /**
+     * Flag indicating latencies of requests are recorded.
+     */
+    private static final boolean ENABLED = Boolean.getBoolean( CacheProvider.class.getName() + ".statistics" );
+
+    /**
+     * The number of buckets of the latency histograms.
+     */
+    private static final int BUCKETS = 40;
+
+    /**
+     * Assumed number of bytes retained by an entry, excluding the characters of its text.
+     */
+    private static final long ENTRY_OVERHEAD = 160L;
+
+    /**
+     * Assumed number of bytes retained by an entry per character of its text.
+     */
+    private static final long BYTES_PER_CHARACTER = 4L;
+
+    /**
+     * The name of the cache.
+     */
+    private final String name;
+
+    /**
+     * The cache.
+     */
+    private final Cache<?, ?> cache;
+
+    /**
+     * The number of hits.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of misses.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The number of characters of the texts of all misses.
+     */
+    private final LongAdder missCharacters = new LongAdder();
+
+    /**
+     * The latencies of hits.
+     */
+    private final AtomicLongArray hitLatencies = new AtomicLongArray( BUCKETS );
+
+    /**
+     * The latencies of misses.
+     */
+    private final AtomicLongArray missLatencies = new AtomicLongArray( BUCKETS );
+
+    /**
+     * Creates a new {@code CacheMonitor} instance.
+     *
+     * @param name The name of the cache.
+     * @param cache The cache.
+     */
+    CacheMonitor( final String name, final Cache<?, ?> cache )
+    {
+        super();
+        this.name = name;
+        this.cache = cache;
+
+        if ( ENABLED )
+        {
+            try
+            {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    this, new ObjectName( "org.jomc.jls:type=Cache,name=" + ObjectName.quote( name ) ) );
+
+            }
+            catch ( final JMException e )
+            {
+                // Another class loader has registered statistics of a cache of the same name. Statistics remain
+                // available via the snapshot API.
+            }
+        }
+    }
+
+    /**
+     * Starts recording a request.
+     *
+     * @return The start time of the request or {@code 0L}, if latencies of requests are not recorded.
+     */
+    long start()
+    {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a request answered by the cache.
+     *
+     * @param start The start time of the request as returned by {@link #start()}.
+     */
+    void hit( final long start )
+    {
+        this.hits.increment();
+
+        if ( ENABLED )
+        {
+            record( this.hitLatencies, System.nanoTime() - start );
+        }
+    }
+
+    /**
+     * Records a request not answered by the cache.
+     *
+     * @param start The start time of the request as returned by {@link #start()}.
+     * @param length The length of the text of the request.
+     */
+    void miss( final long start, final int length )
+    {
+        this.misses.increment();
+        this.missCharacters.add( length );
+
+        if ( ENABLED )
+        {
+            record( this.missLatencies, System.nanoTime() - start );
+        }
+    }
+
+    /**
+     * Takes a snapshot of the statistics.
+     *
+     * @return A snapshot of the statistics.
+     */
+    CacheStatistics snapshot()
+    {
+        return new CacheStatistics( this.name, this );
+    }
+
+    @Override
+    public long getHitCount()
+    {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMissCount()
+    {
+        return this.misses.sum();
+    }
+
+    @Override
+    public double getHitRate()
+    {
+        final long hitCount = this.getHitCount();
+        final long requestCount = hitCount + this.getMissCount();
+        return requestCount > 0L ? (double) hitCount / requestCount : Double.NaN;
+    }
+
+    @Override
+    public long getEvictionCount()
+    {
+        return this.cache.evictionCount();
+    }
+
+    @Override
+    public long getRejectionCount()
+    {
+        return this.cache.rejectionCount();
+    }
+
+    @Override
+    public long getReclamationCount()
+    {
+        return this.cache.reclamationCount();
+    }
+
+    @Override
+    public long getSize()
+    {
+        return this.cache.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The estimate assumes {@value #ENTRY_OVERHEAD} bytes per entry plus {@value #BYTES_PER_CHARACTER} bytes per
+     * character, and an average length of 16 characters before the first miss.
+     * </p>
+     */
+    @Override
+    public long getEstimatedRetainedBytes()
+    {
+        final long missCount = this.getMissCount();
+        final long averageLength = missCount > 0L ? this.missCharacters.sum() / missCount : 16L;
+        return this.getSize() * ( ENTRY_OVERHEAD + averageLength * BYTES_PER_CHARACTER );
+    }
+
+    @Override
+    public long[] getHitLatencyHistogram()
+    {
+        return toArray( this.hitLatencies );
+    }
+
+    @Override
+    public long[] getMissLatencyHistogram()
+    {
+        return toArray( this.missLatencies );
+    }
+
+    private static void record( final AtomicLongArray histogram, final long nanos )
+    {
+        histogram.incrementAndGet( Math.min( BUCKETS - 1, Math.max( 0, 63 - Long.numberOfLeadingZeros( nanos ) ) ) );
+    }
+
+    private static long[] toArray( final AtomicLongArray histogram )
+    {
+        final long[] array = new long[ histogram.length() ];
+
+        for ( int i = 0, s0 = array.length; i < s0; i++ )
+        {
+            array[i] = histogram.get( i );
+        }
+
+        return array;
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Snapshot of the statistics of the cache of parsed instances of a class.
+ * <p>
+ * Hit and miss counts are always recorded. Latencies are recorded only if the
+ * {@code org.jomc.jls.spi.CacheProvider.statistics} system property is set to {@code true}. Otherwise the latency
+ * histograms hold zero values.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see JavaIdentifier#getCacheStatistics()
+ * @see JavaTypeName#getCacheStatistics()
+ */
+public final class CacheStatistics implements CacheStatisticsMXBean
+{
+
+    /**
+     * The name of the cache.
+     */
+    private final String name;
+
+    /**
+     * The number of requests answered by the cache.
+     */
+    private final long hitCount;
+
+    /**
+     * The number of requests not answered by the cache.
+     */
+    private final long missCount;
+
+    /**
+     * The number of entries discarded by the cache to stay within its bounds.
+     */
+    private final long evictionCount;
+
+    /**
+     * The number of entries the cache declined to cache to stay within its bounds.
+     */
+    private final long rejectionCount;
+
+    /**
+     * The number of entries discarded by the cache due to the garbage collector having reclaimed their values.
+     */
+    private final long reclamationCount;
+
+    /**
+     * The number of entries of the cache.
+     */
+    private final long size;
+
+    /**
+     * The estimated number of bytes retained by the entries of the cache.
+     */
+    private final long estimatedRetainedBytes;
+
+    /**
+     * The latencies of requests answered by the cache.
+     */
+    private final long[] hitLatencyHistogram;
+
+    /**
+     * The latencies of requests not answered by the cache.
+     */
+    private final long[] missLatencyHistogram;
+
+    /**
+     * Creates a new {@code CacheStatistics} instance taking a snapshot of the statistics of a cache.
+     *
+     * @param name The name of the cache.
+     * @param statistics The statistics of the cache.
+     */
+    CacheStatistics( final String name, final CacheStatisticsMXBean statistics )
+    {
+        super();
+        this.name = Objects.requireNonNull( name, "name" );
+        this.hitCount = statistics.getHitCount();
+        this.missCount = statistics.getMissCount();
+        this.evictionCount = statistics.getEvictionCount();
+        this.rejectionCount = statistics.getRejectionCount();
+        this.reclamationCount = statistics.getReclamationCount();
+        this.size = statistics.getSize();
+        this.estimatedRetainedBytes = statistics.getEstimatedRetainedBytes();
+        this.hitLatencyHistogram = statistics.getHitLatencyHistogram();
+        this.missLatencyHistogram = statistics.getMissLatencyHistogram();
+    }
+
+    /**
+     * Gets the name of the cache.
+     *
+     * @return The name of the cache.
+     */
+    public String getName()
+    {
+        return this.name;
+    }
+
+    @Override
+    public long getHitCount()
+    {
+        return this.hitCount;
+    }
+
+    @Override
+    public long getMissCount()
+    {
+        return this.missCount;
+    }
+
+    @Override
+    public double getHitRate()
+    {
+        final long requestCount = this.hitCount + this.missCount;
+        return requestCount > 0L ? (double) this.hitCount / requestCount : Double.NaN;
+    }
+
+    @Override
+    public long getEvictionCount()
+    {
+        return this.evictionCount;
+    }
+
+    @Override
+    public long getRejectionCount()
+    {
+        return this.rejectionCount;
+    }
+
+    @Override
+    public long getReclamationCount()
+    {
+        return this.reclamationCount;
+    }
+
+    @Override
+    public long getSize()
+    {
+        return this.size;
+    }
+
+    @Override
+    public long getEstimatedRetainedBytes()
+    {
+        return this.estimatedRetainedBytes;
+    }
+
+    @Override
+    public long[] getHitLatencyHistogram()
+    {
+        return this.hitLatencyHistogram.clone();
+    }
+
+    @Override
+    public long[] getMissLatencyHistogram()
+    {
+        return this.missLatencyHistogram.clone();
+    }
+
+    /**
+     * Creates a string representation of the instance.
+     *
+     * @return A string representation of the instance.
+     */
+    @Override
+    public String toString()
+    {
+        return this.name + "{hitCount=" + this.hitCount + ", missCount=" + this.missCount
+                   + ", evictionCount=" + this.evictionCount + ", rejectionCount=" + this.rejectionCount
+                   + ", reclamationCount=" + this.reclamationCount
+                   + ", size=" + this.size + ", estimatedRetainedBytes=" + this.estimatedRetainedBytes
+                   + ", hitLatencyHistogram=" + Arrays.toString( this.hitLatencyHistogram )
+                   + ", missLatencyHistogram=" + Arrays.toString( this.missLatencyHistogram ) + "}";
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+/**
+ * Management interface of the cache of parsed instances of a class.
+ * <p>
+ * Instances are registered with the platform MBean server under the name
+ * {@code org.jomc.jls:type=Cache,name="<class name>"}, if the {@code org.jomc.jls.spi.CacheProvider.statistics} system
+ * property is set to {@code true}.
+ * </p>
+ * <p>
+ * Requests answered without querying the cache are recorded as well. This includes looking up the canonical instance
+ * of text already being normalized and converting an identifier to a normalization mode.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see CacheStatistics
+ */
+public interface CacheStatisticsMXBean
+{
+
+    /**
+     * Gets the number of requests answered by the cache.
+     *
+     * @return The number of requests answered by the cache.
+     */
+    long getHitCount();
+
+    /**
+     * Gets the number of requests not answered by the cache.
+     *
+     * @return The number of requests not answered by the cache.
+     */
+    long getMissCount();
+
+    /**
+     * Gets the ratio of requests answered by the cache.
+     *
+     * @return The ratio of requests answered by the cache or {@code NaN}, if no requests have been recorded.
+     */
+    double getHitRate();
+
+    /**
+     * Gets the number of entries discarded by the cache to stay within its bounds.
+     *
+     * @return The number of entries discarded by the cache to stay within its bounds.
+     */
+    long getEvictionCount();
+
+    /**
+     * Gets the number of entries the cache declined to cache to stay within its bounds.
+     *
+     * @return The number of entries the cache declined to cache to stay within its bounds.
+     */
+    long getRejectionCount();
+
+    /**
+     * Gets the number of entries discarded by the cache due to the garbage collector having reclaimed their values.
+     *
+     * @return The number of entries discarded by the cache due to the garbage collector having reclaimed their values.
+     */
+    long getReclamationCount();
+
+    /**
+     * Gets the number of entries of the cache.
+     *
+     * @return The approximate number of entries of the cache.
+     */
+    long getSize();
+
+    /**
+     * Gets a rough estimate of the number of bytes retained by the entries of the cache.
+     * <p>
+     * The estimate is not measured. It is computed by multiplying the number of entries of the cache by a fixed
+     * overhead per entry plus a fixed number of bytes per character of the average length of the texts of all misses.
+     * It does not account for the layout of objects of the running Java virtual machine, for the nesting of type
+     * arguments, or for instances shared by entries, and may be off by a multiple. It is suitable for observing trends
+     * only.
+     * </p>
+     *
+     * @return A rough estimate of the number of bytes retained by the entries of the cache.
+     */
+    long getEstimatedRetainedBytes();
+
+    /**
+     * Gets the latencies of requests answered by the cache.
+     *
+     * @return An array whose element at index {@code i} holds the number of requests answered by the cache taking at
+     * least {@code 2^i} and less than {@code 2^(i+1)} nanoseconds, with the first element also counting requests taking
+     * less than one nanosecond and the last element also counting all requests taking longer.
+     */
+    long[] getHitLatencyHistogram();
+
+    /**
+     * Gets the latencies of requests not answered by the cache.
+     *
+     * @return An array whose element at index {@code i} holds the number of requests not answered by the cache taking
+     * at least {@code 2^i} and less than {@code 2^(i+1)} nanoseconds, with the first element also counting requests
+     * taking less than one nanosecond and the last element also counting all requests taking longer.
+     */
+    long[] getMissLatencyHistogram();
+
+}
@@ -0,0 +1,210 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.ServiceLoader;
+import org.jomc.jls.spi.Cache;
+import org.jomc.jls.spi.CacheKey;
+import org.jomc.jls.spi.CacheProvider;
+
+/**
+ * Factory of the caches of parsed instances.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see CacheProvider
+ */
+final class Caches
+{
+
+    /**
+     * Name of the system property naming the cache provider to use.
+     */
+    private static final String PROVIDER_PROPERTY = CacheProvider.class.getName();
+
+    /**
+     * Name of the system property holding the maximum number of entries of caches bounded in size.
+     */
+    private static final String MAXIMUM_SIZE_PROPERTY = CacheProvider.class.getName() + ".maximumSize";
+
+    /**
+     * Name of the system property holding the maximum number of entries of caches of parse failures.
+     */
+    private static final String FAILURES_MAXIMUM_SIZE_PROPERTY =
+        CacheProvider.class.getName() + ".failures.maximumSize";
+
+    /**
+     * The cache provider in use.
+     */
+    private static final CacheProvider PROVIDER =
+        findProvider( System.getProperty( PROVIDER_PROPERTY ), getClassLoader() );
+
+    /**
+     * Creates a new {@code Caches} instance.
+     */
+    private Caches()
+    {
+        super();
+    }
+
+    /**
+     * Creates a new cache using the cache provider in use.
+     *
+     * @param <V> The type of the values of the cache.
+     * @param name The name of the cache to create.
+     *
+     * @return A new cache.
+     *
+     * @throws IllegalStateException if the cache provider in use fails creating a cache.
+     */
+    static <V> Cache<CacheKey, V> createCache( final String name )
+    {
+        final Cache<CacheKey, V> cache = PROVIDER.createCache( name );
+
+        if ( cache == null )
+        {
+            throw new IllegalStateException( getMessage( "invalidCache", PROVIDER.getClass().getName(), name ) );
+        }
+
+        return cache;
+    }
+
+    /**
+     * Creates a new cache of the outcomes of failed parses.
+     *
+     * @param <K> The type of the keys of the cache.
+     * @param <V> The type of the values of the cache.
+     *
+     * @return A new cache bounded in size by the value of the
+     * {@code org.jomc.jls.spi.CacheProvider.failures.maximumSize} system property or a cache not caching anything, if
+     * that property is not set or is set to {@code 0}.
+     *
+     * @throws IllegalStateException if the {@code org.jomc.jls.spi.CacheProvider.failures.maximumSize} system property
+     * does not hold a positive integer or {@code 0}.
+     */
+    static <K, V> Cache<K, V> createFailureCache()
+    {
+        final int maximumSize = getInteger( FAILURES_MAXIMUM_SIZE_PROPERTY, 0, 0 );
+        return maximumSize > 0 ? new BoundedCache<>( maximumSize ) : DefaultCacheProvider.NONE.newCache();
+    }
+
+    /**
+     * Gets the maximum number of entries of caches bounded in size.
+     *
+     * @return The value of the {@code org.jomc.jls.spi.CacheProvider.maximumSize} system property or
+     * {@link BoundedCache#DEFAULT_MAXIMUM_SIZE}, if that property is not set.
+     *
+     * @throws IllegalStateException if the {@code org.jomc.jls.spi.CacheProvider.maximumSize} system property does not
+     * hold a positive integer.
+     */
+    static int getMaximumSize()
+    {
+        return getInteger( MAXIMUM_SIZE_PROPERTY, BoundedCache.DEFAULT_MAXIMUM_SIZE, 1 );
+    }
+
+    private static int getInteger( final String property, final int defaultValue, final int minimumValue )
+    {
+        final String value = System.getProperty( property );
+
+        try
+        {
+            final int integer = value != null ? Integer.parseInt( value ) : defaultValue;
+
+            if ( integer < minimumValue )
+            {
+                throw new IllegalStateException( getMessage( "invalidMaximumSize", value, property ) );
+            }
+
+            return integer;
+        }
+        catch ( final NumberFormatException e )
+        {
+            throw new IllegalStateException( getMessage( "invalidMaximumSize", value, property ), e );
+        }
+    }
+
+    /**
+     * Finds the cache provider to use.
+     *
+     * @param name The value of the {@code org.jomc.jls.spi.CacheProvider} system property or {@code null}.
+     * @param classLoader The class loader to load providers with.
+     *
+     * @return The built-in provider or an instance of the class named {@code name}, the first provider found by the
+     * {@code ServiceLoader}, if {@code name} is {@code null}, or the {@code strong} provider, if there is no such
+     * provider.
+     *
+     * @throws IllegalStateException if {@code name} does not name a built-in provider or a class implementing
+     * {@code CacheProvider} providing a public no-argument constructor.
+     */
+    static CacheProvider findProvider( final String name, final ClassLoader classLoader )
+    {
+        if ( name != null )
+        {
+            for ( final DefaultCacheProvider provider : DefaultCacheProvider.values() )
+            {
+                if ( provider.name().equalsIgnoreCase( name ) )
+                {
+                    return provider;
+                }
+            }
+
+            try
+            {
+                return Class.forName( name, true, classLoader ).asSubclass( CacheProvider.class ).
+                    getConstructor().newInstance();
+
+            }
+            catch ( final ReflectiveOperationException | ClassCastException e )
+            {
+                throw new IllegalStateException( getMessage( "invalidCacheProvider", name, PROVIDER_PROPERTY ), e );
+            }
+        }
+
+        final Iterator<CacheProvider> providers =
+            ServiceLoader.load( CacheProvider.class, classLoader ).iterator();
+
+        return providers.hasNext() ? providers.next() : DefaultCacheProvider.STRONG;
+    }
+
+    private static ClassLoader getClassLoader()
+    {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : Caches.class.getClassLoader();
+    }
+
+    private static String getMessage( final String key, final Object... args )
+    {
+        return Messages.format( Caches.class, key, Locale.getDefault(), args );
+    }
+
+}
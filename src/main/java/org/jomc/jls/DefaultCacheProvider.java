@@ -0,0 +1,146 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.Objects;
+import org.jomc.jls.spi.Cache;
+import org.jomc.jls.spi.CacheKey;
+import org.jomc.jls.spi.CacheProvider;
+
+/**
+ * Built-in cache providers.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see Caches
+ */
+enum DefaultCacheProvider implements CacheProvider
+{
+
+    /**
+     * Provider of caches bounded in size.
+     *
+     * @see BoundedCache
+     */
+    STRONG
+    {
+
+        @Override
+        <K, V> Cache<K, V> newCache()
+        {
+            return new BoundedCache<>( Caches.getMaximumSize() );
+        }
+
+    },
+    /**
+     * Provider of caches holding each value by a soft reference.
+     *
+     * @see ReferenceCache
+     */
+    SOFT
+    {
+
+        @Override
+        <K, V> Cache<K, V> newCache()
+        {
+            return new ReferenceCache<>( true );
+        }
+
+    },
+    /**
+     * Provider of caches holding each value by a weak reference.
+     *
+     * @see ReferenceCache
+     */
+    WEAK
+    {
+
+        @Override
+        <K, V> Cache<K, V> newCache()
+        {
+            return new ReferenceCache<>( false );
+        }
+
+    },
+    /**
+     * Provider of caches not caching anything.
+     */
+    NONE
+    {
+
+        @Override
+        <K, V> Cache<K, V> newCache()
+        {
+            return new Cache<K, V>()
+            {
+
+                @Override
+                public V get( final K key )
+                {
+                    Objects.requireNonNull( key, "key" );
+                    return null;
+                }
+
+                @Override
+                public V putIfAbsent( final K key, final V value )
+                {
+                    Objects.requireNonNull( key, "key" );
+                    Objects.requireNonNull( value, "value" );
+                    return value;
+                }
+
+                @Override
+                public void clear()
+                {
+                    // Nothing to clear.
+                }
+
+                @Override
+                public long size()
+                {
+                    return 0L;
+                }
+
+            };
+        }
+
+    };
+
+    @Override
+    public final <V> Cache<CacheKey, V> createCache( final String name )
+    {
+        Objects.requireNonNull( name, "name" );
+        return this.newCache();
+    }
+
+    abstract <K, V> Cache<K, V> newCache();
+
+}
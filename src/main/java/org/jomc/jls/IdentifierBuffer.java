@@ -0,0 +1,254 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.Arrays;
+
+/**
+ * Characters of an identifier being normalized.
+ * <p>
+ * Buffers are kept per thread and reused, so that normalizing an identifier allocates nothing but the resulting
+ * string. Indices of code points whose case has been retained are kept in a bitset, so that the case of those code
+ * points can be changed once the number of words of the identifier is known. Buffers are not thread-safe and must not
+ * be used by more than one normalization at a time.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+final class IdentifierBuffer implements CharSequence
+{
+
+    /**
+     * Maximum number of characters of buffers kept per thread.
+     */
+    private static final int MAXIMUM_CAPACITY = 4096;
+
+    /**
+     * Buffers per thread.
+     */
+    private static final ThreadLocal<IdentifierBuffer> BUFFERS =
+        ThreadLocal.withInitial( ()  -> new IdentifierBuffer( 64 ) );
+
+    /**
+     * The characters of the buffer.
+     */
+    private char[] chars;
+
+    /**
+     * The number of characters of the buffer.
+     */
+    private int length;
+
+    /**
+     * Bitset of the indices of code points whose case has been retained.
+     */
+    private long[] retained;
+
+    /**
+     * The number of elements of {@code retained} holding bits set.
+     */
+    private int retainedLength;
+
+    private IdentifierBuffer( final int capacity )
+    {
+        super();
+        this.chars = new char[ capacity ];
+        this.retained = new long[ ( capacity + 63 ) >>> 6 ];
+    }
+
+    /**
+     * Gets an empty buffer of the calling thread.
+     *
+     * @param capacity The number of characters expected to be appended to the buffer.
+     *
+     * @return An empty buffer of the calling thread or a new buffer, if {@code capacity} exceeds the capacity of
+     * buffers kept per thread.
+     */
+    static IdentifierBuffer get( final int capacity )
+    {
+        if ( capacity > MAXIMUM_CAPACITY )
+        {
+            return new IdentifierBuffer( capacity );
+        }
+
+        final IdentifierBuffer buffer = BUFFERS.get();
+        buffer.clear();
+        buffer.ensureCapacity( capacity );
+        return buffer;
+    }
+
+    @Override
+    public int length()
+    {
+        return this.length;
+    }
+
+    @Override
+    public char charAt( final int index )
+    {
+        if ( index < 0 || index >= this.length )
+        {
+            throw new IndexOutOfBoundsException( Integer.toString( index ) );
+        }
+
+        return this.chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence( final int start, final int end )
+    {
+        return new String( this.chars, start, end - start );
+    }
+
+    @Override
+    public String toString()
+    {
+        return new String( this.chars, 0, this.length );
+    }
+
+    /**
+     * Appends a character to the buffer.
+     *
+     * @param c The character to append.
+     */
+    void append( final char c )
+    {
+        this.ensureCapacity( this.length + 1 );
+        this.chars[this.length++] = c;
+    }
+
+    /**
+     * Appends a code point to the buffer.
+     *
+     * @param codePoint The code point to append.
+     */
+    void appendCodePoint( final int codePoint )
+    {
+        this.ensureCapacity( this.length + 2 );
+        this.length += Character.toChars( codePoint, this.chars, this.length );
+    }
+
+    /**
+     * Appends a code point to the buffer retaining its case.
+     *
+     * @param codePoint The code point to append.
+     *
+     * @see #toLowerCaseRetained()
+     */
+    void appendRetained( final int codePoint )
+    {
+        final int index = this.length;
+        this.appendCodePoint( codePoint );
+        this.retained[index >>> 6] |= 1L << index;
+        this.retainedLength = Math.max( this.retainedLength, ( index >>> 6 ) + 1 );
+    }
+
+    /**
+     * Inserts a character at the start of the buffer.
+     *
+     * @param c The character to insert.
+     */
+    void prepend( final char c )
+    {
+        this.ensureCapacity( this.length + 1 );
+        System.arraycopy( this.chars, 0, this.chars, 1, this.length );
+        this.chars[0] = c;
+        this.length++;
+    }
+
+    /**
+     * Gets the code point before an index of the buffer.
+     *
+     * @param index The index following the code point to get.
+     *
+     * @return The code point before {@code index}.
+     */
+    int codePointBefore( final int index )
+    {
+        return Character.codePointBefore( this.chars, index );
+    }
+
+    /**
+     * Converts all code points whose case has been retained to lower case.
+     */
+    void toLowerCaseRetained()
+    {
+        // Converts from the end, so that indices of code points not yet converted remain valid.
+        for ( int i = this.retainedLength - 1; i >= 0; i-- )
+        {
+            for ( long bits = this.retained[i]; bits != 0L; bits &= ~Long.highestOneBit( bits ) )
+            {
+                final int index = ( i << 6 ) + 63 - Long.numberOfLeadingZeros( bits );
+                final int codePoint = Character.codePointAt( this.chars, index, this.length );
+                final int lowerCase = Character.toLowerCase( codePoint );
+                final int count = Character.charCount( codePoint );
+                final int lowerCaseCount = Character.charCount( lowerCase );
+
+                if ( count != lowerCaseCount )
+                {
+                    this.ensureCapacity( this.length + lowerCaseCount - count );
+                    System.arraycopy( this.chars, index + count, this.chars, index + lowerCaseCount,
+                                      this.length - index - count );
+
+                    this.length += lowerCaseCount - count;
+                }
+
+                Character.toChars( lowerCase, this.chars, index );
+            }
+        }
+
+        this.clearRetained();
+    }
+
+    private void clear()
+    {
+        this.length = 0;
+        this.clearRetained();
+    }
+
+    private void clearRetained()
+    {
+        Arrays.fill( this.retained, 0, this.retainedLength, 0L );
+        this.retainedLength = 0;
+    }
+
+    private void ensureCapacity( final int capacity )
+    {
+        if ( capacity > this.chars.length )
+        {
+            final int newCapacity = Math.max( capacity, 2 * this.chars.length );
+            this.chars = Arrays.copyOf( this.chars, newCapacity );
+            this.retained = Arrays.copyOf( this.retained, ( newCapacity + 63 ) >>> 6 );
+        }
+    }
+
+}
@@ -0,0 +1,437 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import org.jomc.jls.JavaIdentifier.NormalizationMode;
+
+/**
+ * Normalizes text to a Java identifier.
+ * <p>
+ * Each normalization mode is implemented by its own class, so that a normalization runs a loop specific to its mode.
+ * Normalizers normalize the words of a segmentation of the text, so that text to normalize according to multiple
+ * modes is segmented only once. Normalizers are stateless and thread-safe.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ *
+ * @see JavaIdentifier#normalize(java.lang.String, org.jomc.jls.JavaIdentifier.NormalizationMode)
+ * @see IdentifierWords
+ */
+abstract class IdentifierNormalizer
+{
+
+    /**
+     * Normalizer of the {@code CAMEL_CASE} mode.
+     */
+    private static final IdentifierNormalizer CAMEL_CASE = new CamelCaseNormalizer();
+
+    /**
+     * Normalizer of the {@code LOWER_CASE} mode.
+     */
+    private static final IdentifierNormalizer LOWER_CASE = new LowerCaseNormalizer();
+
+    /**
+     * Normalizer of the {@code UPPER_CASE} and {@code CONSTANT_NAME_CONVENTION} modes.
+     */
+    private static final IdentifierNormalizer UPPER_CASE = new UpperCaseNormalizer();
+
+    /**
+     * Normalizer of the {@code METHOD_NAME_CONVENTION} and {@code VARIABLE_NAME_CONVENTION} modes.
+     */
+    private static final IdentifierNormalizer MIXED_CASE = new MixedCaseNormalizer();
+
+    IdentifierNormalizer()
+    {
+        super();
+    }
+
+    /**
+     * Gets the normalizer of a normalization mode.
+     *
+     * @param mode The mode to get the normalizer of.
+     *
+     * @return The normalizer of {@code mode}.
+     */
+    static IdentifierNormalizer of( final NormalizationMode mode )
+    {
+        switch ( mode )
+        {
+            case CAMEL_CASE:
+                return CAMEL_CASE;
+
+            case LOWER_CASE:
+                return LOWER_CASE;
+
+            case UPPER_CASE:
+            case CONSTANT_NAME_CONVENTION:
+                return UPPER_CASE;
+
+            case METHOD_NAME_CONVENTION:
+            case VARIABLE_NAME_CONVENTION:
+                return MIXED_CASE;
+
+            default:
+                throw new AssertionError( mode );
+
+        }
+    }
+
+    /**
+     * Normalizes the words of text.
+     *
+     * @param text The text to normalize.
+     * @param words The words of {@code text}.
+     * @param buffer The empty buffer to append the normalized text to.
+     */
+    abstract void normalize( String text, IdentifierWords words, IdentifierBuffer buffer );
+
+    /**
+     * Tests whether text is normalized.
+     *
+     * @param text The text to test.
+     *
+     * @return {@code true}, if normalizing {@code text} results in {@code text}; {@code false}, if normalizing
+     * {@code text} may result in different text or fails.
+     */
+    abstract boolean isNormalized( String text );
+
+    /**
+     * Tests whether a code point is part of a word.
+     *
+     * @param codePoint The code point to test.
+     * @param first {@code true}, if {@code codePoint} is to start the identifier; {@code false}, else.
+     *
+     * @return {@code true}, if {@code codePoint} is part of a word; {@code false}, if {@code codePoint} separates
+     * words.
+     */
+    static boolean isWordPart( final int codePoint, final boolean first )
+    {
+        return ( first
+                 ? JavaCharacters.isIdentifierStart( codePoint )
+                 : JavaCharacters.isIdentifierPart( codePoint ) )
+                   && JavaCharacters.isLetterOrDigit( codePoint );
+
+    }
+
+    /**
+     * Tests whether a code point is an upper-case code point in the middle of a camel-case word.
+     *
+     * @param left The code point preceding {@code middle}.
+     * @param middle The code point to test.
+     * @param right The code point following {@code middle}.
+     *
+     * @return {@code true}, if {@code middle} is an upper-case code point between two lower-case code points;
+     * {@code false}, else.
+     */
+    static boolean isCamelCase( final int left, final int middle, final int right )
+    {
+        return JavaCharacters.isLowerCase( left ) && JavaCharacters.isUpperCase( middle )
+                   && JavaCharacters.isLowerCase( right );
+
+    }
+
+    /**
+     * Tests whether text consists of a single word compacted using camel-case.
+     *
+     * @param text The text to test.
+     * @param upperCase {@code true}, to test for a word starting upper-case; {@code false}, to test for a word
+     * starting lower-case.
+     *
+     * @return {@code true}, if {@code text} consists of a single word compacted using camel-case; {@code false}, else.
+     */
+    private static boolean isCompactedWord( final String text, final boolean upperCase )
+    {
+        final int s0 = text.length();
+
+        if ( s0 <= 0 )
+        {
+            return false;
+        }
+
+        int last_codepoint = text.codePointAt( 0 );
+
+        if ( !isWordPart( last_codepoint, true )
+                 || last_codepoint != ( upperCase
+                                        ? Character.toUpperCase( last_codepoint )
+                                        : Character.toLowerCase( last_codepoint ) ) )
+        {
+            return false;
+        }
+
+        for ( int i = Character.charCount( last_codepoint ), j; i < s0; i = j )
+        {
+            final int codepoint = text.codePointAt( i );
+            j = i + Character.charCount( codepoint );
+
+            if ( !isWordPart( codepoint, false )
+                     || !( codepoint == Character.toLowerCase( codepoint )
+                           || ( j < s0 && isCamelCase( last_codepoint, codepoint, text.codePointAt( j ) ) ) ) )
+            {
+                return false;
+            }
+
+            last_codepoint = codepoint;
+        }
+
+        return JavaLanguage.findWord( text, 0, s0 ) < 0;
+    }
+
+    /**
+     * Tests whether text consists of words of a single case separated by single underscores.
+     *
+     * @param text The text to test.
+     * @param upperCase {@code true}, to test for upper-case words; {@code false}, to test for lower-case words.
+     *
+     * @return {@code true}, if {@code text} consists of words of a single case separated by single underscores;
+     * {@code false}, else.
+     */
+    private static boolean isSeparatedWords( final String text, final boolean upperCase )
+    {
+        boolean start_of_word = true;
+
+        for ( int i = 0, j, s0 = text.length(); i < s0; i = j )
+        {
+            final int codepoint = text.codePointAt( i );
+            j = i + Character.charCount( codepoint );
+
+            if ( isWordPart( codepoint, i == 0 ) )
+            {
+                if ( codepoint != ( upperCase
+                                    ? Character.toUpperCase( codepoint )
+                                    : Character.toLowerCase( codepoint ) ) )
+                {
+                    return false;
+                }
+
+                start_of_word = false;
+            }
+            else if ( start_of_word || codepoint != '_' )
+            {
+                return false;
+            }
+            else
+            {
+                start_of_word = true;
+            }
+        }
+
+        return !start_of_word && JavaLanguage.findWord( text, 0, text.length() ) < 0;
+    }
+
+    /**
+     * Normalizer compacting words using camel-case with the first word starting upper-case.
+     */
+    private static final class CamelCaseNormalizer extends IdentifierNormalizer
+    {
+
+        private CamelCaseNormalizer()
+        {
+            super();
+        }
+
+        @Override
+        boolean isNormalized( final String text )
+        {
+            return isCompactedWord( text, true );
+        }
+
+        @Override
+        void normalize( final String text, final IdentifierWords words, final IdentifierBuffer buffer )
+        {
+            for ( int w = 0, s0 = text.length(), w0 = words.count(), last_codepoint = -1; w < w0; w++ )
+            {
+                for ( int i = words.start( w ), j, e0 = words.end( w ); i < e0; i = j )
+                {
+                    final int codepoint = text.codePointAt( i );
+                    j = i + Character.charCount( codepoint );
+
+                    if ( i == words.start( w ) )
+                    {
+                        buffer.appendCodePoint( Character.toUpperCase( codepoint ) );
+                    }
+                    else if ( j < s0 && isCamelCase( last_codepoint, codepoint, text.codePointAt( j ) ) )
+                    {
+                        // Retain camel-case in words.
+                        buffer.appendRetained( codepoint );
+                    }
+                    else
+                    {
+                        buffer.appendCodePoint( Character.toLowerCase( codepoint ) );
+                    }
+
+                    last_codepoint = buffer.codePointBefore( buffer.length() );
+                }
+            }
+
+            if ( words.isSeparated() )
+            {
+                // Multiple words - no camel-case retained in any word.
+                buffer.toLowerCaseRetained();
+            }
+        }
+
+    }
+
+    /**
+     * Normalizer compacting words using camel-case with the first word starting lower-case.
+     */
+    private static final class MixedCaseNormalizer extends IdentifierNormalizer
+    {
+
+        private MixedCaseNormalizer()
+        {
+            super();
+        }
+
+        @Override
+        boolean isNormalized( final String text )
+        {
+            return isCompactedWord( text, false );
+        }
+
+        @Override
+        void normalize( final String text, final IdentifierWords words, final IdentifierBuffer buffer )
+        {
+            for ( int w = 0, s0 = text.length(), w0 = words.count(), last_codepoint = -1; w < w0; w++ )
+            {
+                for ( int i = words.start( w ), j, e0 = words.end( w ); i < e0; i = j )
+                {
+                    final int codepoint = text.codePointAt( i );
+                    j = i + Character.charCount( codepoint );
+
+                    if ( i == words.start( w ) )
+                    {
+                        buffer.appendCodePoint( w == 0
+                                                    ? Character.toLowerCase( codepoint )
+                                                    : Character.toUpperCase( codepoint ) );
+
+                    }
+                    else if ( j < s0 && isCamelCase( last_codepoint, codepoint, text.codePointAt( j ) ) )
+                    {
+                        // Retain camel-case in words.
+                        buffer.appendRetained( codepoint );
+                    }
+                    else
+                    {
+                        buffer.appendCodePoint( Character.toLowerCase( codepoint ) );
+                    }
+
+                    last_codepoint = buffer.codePointBefore( buffer.length() );
+                }
+            }
+
+            if ( words.isSeparated() )
+            {
+                // Multiple words - no camel-case retained in any word.
+                buffer.toLowerCaseRetained();
+            }
+        }
+
+    }
+
+    /**
+     * Normalizer separating lower-case words using '_'.
+     */
+    private static final class LowerCaseNormalizer extends IdentifierNormalizer
+    {
+
+        private LowerCaseNormalizer()
+        {
+            super();
+        }
+
+        @Override
+        boolean isNormalized( final String text )
+        {
+            return isSeparatedWords( text, false );
+        }
+
+        @Override
+        void normalize( final String text, final IdentifierWords words, final IdentifierBuffer buffer )
+        {
+            for ( int w = 0, w0 = words.count(); w < w0; w++ )
+            {
+                if ( w > 0 )
+                {
+                    buffer.append( '_' );
+                }
+
+                for ( int i = words.start( w ), j, e0 = words.end( w ); i < e0; i = j )
+                {
+                    final int codepoint = text.codePointAt( i );
+                    j = i + Character.charCount( codepoint );
+                    buffer.appendCodePoint( Character.toLowerCase( codepoint ) );
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Normalizer separating upper-case words using '_'.
+     */
+    private static final class UpperCaseNormalizer extends IdentifierNormalizer
+    {
+
+        private UpperCaseNormalizer()
+        {
+            super();
+        }
+
+        @Override
+        boolean isNormalized( final String text )
+        {
+            return isSeparatedWords( text, true );
+        }
+
+        @Override
+        void normalize( final String text, final IdentifierWords words, final IdentifierBuffer buffer )
+        {
+            for ( int w = 0, w0 = words.count(); w < w0; w++ )
+            {
+                if ( w > 0 )
+                {
+                    buffer.append( '_' );
+                }
+
+                for ( int i = words.start( w ), j, e0 = words.end( w ); i < e0; i = j )
+                {
+                    final int codepoint = text.codePointAt( i );
+                    j = i + Character.charCount( codepoint );
+                    buffer.appendCodePoint( Character.toUpperCase( codepoint ) );
+                }
+            }
+        }
+
+    }
+
+}
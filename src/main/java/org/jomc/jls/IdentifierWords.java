@@ -0,0 +1,270 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.Arrays;
+
+/**
+ * Words of text to normalize to a Java identifier.
+ * <p>
+ * Words are maximal ranges of code points being both a Java letter or digit and a letter or digit, with the first
+ * word starting with a code point being a Java letter. All other code points separate words. Text is segmented once
+ * and the words are then normalized according to any number of normalization modes. Segmentations are kept per thread
+ * and reused, so that segmenting text allocates nothing. Segmentations are not thread-safe and must not be used by
+ * more than one normalization at a time.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ *
+ * @see IdentifierNormalizer
+ */
+final class IdentifierWords
+{
+
+    /**
+     * Maximum number of words of segmentations kept per thread.
+     */
+    private static final int MAXIMUM_CAPACITY = 1024;
+
+    /**
+     * Segmentations per thread.
+     */
+    private static final ThreadLocal<IdentifierWords> SEGMENTATIONS =
+        ThreadLocal.withInitial( ()  -> new IdentifierWords( 16 ) );
+
+    /**
+     * Start and end indices of the words.
+     */
+    private int[] bounds;
+
+    /**
+     * The number of words.
+     */
+    private int count;
+
+    /**
+     * Flag indicating any word is followed by a separator.
+     */
+    private boolean separated;
+
+    private IdentifierWords( final int capacity )
+    {
+        super();
+        this.bounds = new int[ 2 * capacity ];
+    }
+
+    /**
+     * Creates a new {@code IdentifierWords} instance of given words.
+     *
+     * @param bounds Start and end indices of the words.
+     * @param count The number of words.
+     * @param separated {@code true}, if any word is followed by a separator; {@code false}, else.
+     */
+    IdentifierWords( final int[] bounds, final int count, final boolean separated )
+    {
+        super();
+        this.bounds = bounds;
+        this.count = count;
+        this.separated = separated;
+    }
+
+    /**
+     * Segments text into words.
+     *
+     * @param text The text to segment.
+     *
+     * @return The words of {@code text}, valid until the calling thread segments other text.
+     */
+    static IdentifierWords of( final String text )
+    {
+        IdentifierWords words = SEGMENTATIONS.get();
+
+        if ( words.bounds.length > 2 * MAXIMUM_CAPACITY )
+        {
+            words = new IdentifierWords( 16 );
+            SEGMENTATIONS.set( words );
+        }
+
+        words.count = 0;
+        words.separated = false;
+        boolean in_word = false;
+
+        for ( int i = 0, j, s0 = text.length(); i < s0; i = j )
+        {
+            final int codepoint = text.codePointAt( i );
+            j = i + Character.charCount( codepoint );
+
+            if ( IdentifierNormalizer.isWordPart( codepoint, words.count == 0 ) )
+            {
+                if ( !in_word )
+                {
+                    words.addStart( i );
+                    in_word = true;
+                }
+            }
+            else if ( in_word )
+            {
+                words.setEnd( i );
+                words.separated = true;
+                in_word = false;
+            }
+        }
+
+        if ( in_word )
+        {
+            words.setEnd( text.length() );
+        }
+
+        return words;
+    }
+
+    /**
+     * Segments an identifier into words.
+     * <p>
+     * In addition to the words of {@link #of(String)}, words of identifiers are separated at camel-case humps. An
+     * upper-case code point starts a word, if it follows a code point not being upper-case or if it follows an
+     * upper-case code point and precedes a lower-case code point.
+     * </p>
+     *
+     * @param identifier The identifier to segment.
+     *
+     * @return A new instance holding the words of {@code identifier}.
+     */
+    static IdentifierWords ofIdentifier( final String identifier )
+    {
+        final IdentifierWords words = new IdentifierWords( 4 );
+        boolean in_word = false;
+
+        for ( int i = 0, j, s0 = identifier.length(), last_codepoint = -1; i < s0; i = j )
+        {
+            final int codepoint = identifier.codePointAt( i );
+            j = i + Character.charCount( codepoint );
+
+            if ( IdentifierNormalizer.isWordPart( codepoint, words.count == 0 ) )
+            {
+                if ( in_word && JavaCharacters.isUpperCase( codepoint )
+                         && ( !JavaCharacters.isUpperCase( last_codepoint )
+                              || ( j < s0 && JavaCharacters.isLowerCase( identifier.codePointAt( j ) ) ) ) )
+                {
+                    words.setEnd( i );
+                    in_word = false;
+                }
+
+                if ( !in_word )
+                {
+                    words.addStart( i );
+                    in_word = true;
+                }
+
+                last_codepoint = codepoint;
+            }
+            else if ( in_word )
+            {
+                words.setEnd( i );
+                in_word = false;
+            }
+        }
+
+        if ( in_word )
+        {
+            words.setEnd( identifier.length() );
+        }
+
+        words.bounds = Arrays.copyOf( words.bounds, 2 * words.count );
+        words.separated = words.count > 1;
+        return words;
+    }
+
+    /**
+     * Gets the number of words.
+     *
+     * @return The number of words.
+     */
+    int count()
+    {
+        return this.count;
+    }
+
+    /**
+     * Gets the index of the first character of a word.
+     *
+     * @param word The index of the word.
+     *
+     * @return The index of the first character of the word at {@code word}.
+     */
+    int start( final int word )
+    {
+        return this.bounds[2 * word];
+    }
+
+    /**
+     * Gets the index following the last character of a word.
+     *
+     * @param word The index of the word.
+     *
+     * @return The index following the last character of the word at {@code word}.
+     */
+    int end( final int word )
+    {
+        return this.bounds[2 * word + 1];
+    }
+
+    /**
+     * Gets a flag indicating any word is followed by a separator.
+     * <p>
+     * Camel-case is retained in words only if the text consists of a single word not followed by a separator.
+     * </p>
+     *
+     * @return {@code true}, if any word is followed by a separator; {@code false}, else.
+     */
+    boolean isSeparated()
+    {
+        return this.separated;
+    }
+
+    private void addStart( final int index )
+    {
+        if ( 2 * this.count + 2 > this.bounds.length )
+        {
+            this.bounds = Arrays.copyOf( this.bounds, 2 * this.bounds.length );
+        }
+
+        this.bounds[2 * this.count] = index;
+        this.count++;
+    }
+
+    private void setEnd( final int index )
+    {
+        this.bounds[2 * this.count - 1] = index;
+    }
+
+}
@@ -0,0 +1,314 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classes of characters of the Java language.
+ * <p>
+ * Characters of the ASCII range are classified by table lookup. Other code points are classified by lookup in a
+ * two-level table covering all code points. The table is divided into blocks of 256 code points, and blocks of equal
+ * classes are stored once, so that the table takes about 40 kilobytes. Both tables are computed from the
+ * corresponding methods of class {@code Character} of the running Java runtime, so that they classify code points
+ * identically. The two-level table is computed when a code point outside the ASCII range is classified for the
+ * first time. Methods named {@code isAscii...} classify characters of the ASCII range only and must not be called
+ * with other characters. Callers having found text to consist of ASCII characters only by the
+ * {@link #isAscii(CharSequence, int, int)} method may use these methods without testing each character again.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see Character
+ */
+final class JavaCharacters
+{
+
+    private static final int IDENTIFIER_START = 1;
+
+    private static final int IDENTIFIER_PART = 1 << 1;
+
+    private static final int LETTER_OR_DIGIT = 1 << 2;
+
+    private static final int WHITESPACE = 1 << 3;
+
+    private static final int LOWER_CASE = 1 << 4;
+
+    private static final int UPPER_CASE = 1 << 5;
+
+    /**
+     * Classes of the characters of the ASCII range.
+     */
+    private static final byte[] ASCII_CLASSES = new byte[ 128 ];
+
+    static
+    {
+        for ( int c = 0; c < ASCII_CLASSES.length; c++ )
+        {
+            ASCII_CLASSES[c] = classify( c );
+        }
+    }
+
+    private JavaCharacters()
+    {
+        super();
+    }
+
+    private static byte classify( final int codePoint )
+    {
+        return (byte) ( ( Character.isJavaIdentifierStart( codePoint ) ? IDENTIFIER_START : 0 )
+                        | ( Character.isJavaIdentifierPart( codePoint ) ? IDENTIFIER_PART : 0 )
+                        | ( Character.isLetterOrDigit( codePoint ) ? LETTER_OR_DIGIT : 0 )
+                        | ( Character.isWhitespace( codePoint ) ? WHITESPACE : 0 )
+                        | ( Character.isLowerCase( codePoint ) ? LOWER_CASE : 0 )
+                        | ( Character.isUpperCase( codePoint ) ? UPPER_CASE : 0 ) );
+
+    }
+
+    private static int classesOf( final int codePoint )
+    {
+        return codePoint < ASCII_CLASSES.length && codePoint >= 0
+                   ? ASCII_CLASSES[codePoint]
+                   : UnicodeClasses.classesOf( codePoint );
+
+    }
+
+    /**
+     * Tests whether a range of characters consists of characters of the ASCII range only.
+     *
+     * @param text The character sequence holding the characters to test.
+     * @param start The index of the first character to test, inclusive.
+     * @param end The index of the last character to test, exclusive.
+     *
+     * @return {@code true}, if all characters of {@code text} from {@code start} to {@code end - 1} are characters of
+     * the ASCII range; {@code false}, else.
+     */
+    static boolean isAscii( final CharSequence text, final int start, final int end )
+    {
+        for ( int i = start; i < end; i++ )
+        {
+            if ( text.charAt( i ) >= ASCII_CLASSES.length )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the index of the first character of a range of characters not being an ASCII letter, an ASCII digit, an
+     * underscore, a dollar sign or a period.
+     *
+     * @param text The string holding the characters to test.
+     * @param start The index of the first character to test, inclusive.
+     * @param end The index of the last character to test, exclusive.
+     *
+     * @return The index of the first character of {@code text} from {@code start} to {@code end - 1} not being an
+     * ASCII letter, an ASCII digit, an underscore, a dollar sign or a period or {@code end}, if there is no such
+     * character.
+     *
+     * @see NameCharacters#scan(java.lang.String, int, int)
+     */
+    static int scanNameCharacters( final String text, final int start, final int end )
+    {
+        for ( int i = start; i < end; i++ )
+        {
+            if ( !isNameCharacter( text.charAt( i ) ) )
+            {
+                return i;
+            }
+        }
+
+        return end;
+    }
+
+    /**
+     * Tests whether a character is an ASCII letter, an ASCII digit, an underscore, a dollar sign or a period.
+     */
+    static boolean isNameCharacter( final char c )
+    {
+        return ( c >= 'a' && c <= 'z' ) || ( c >= 'A' && c <= 'Z' ) || ( c >= '0' && c <= '9' )
+                   || c == '_' || c == '$' || c == '.';
+    }
+
+    /**
+     * Tests whether a character of the ASCII range is permissible as the first character of a Java identifier.
+     */
+    static boolean isAsciiIdentifierStart( final char c )
+    {
+        return ( ASCII_CLASSES[c] & IDENTIFIER_START ) != 0;
+    }
+
+    /**
+     * Tests whether a character of the ASCII range is permissible as part of a Java identifier.
+     */
+    static boolean isAsciiIdentifierPart( final char c )
+    {
+        return ( ASCII_CLASSES[c] & IDENTIFIER_PART ) != 0;
+    }
+
+    /**
+     * Tests whether a character of the ASCII range is whitespace.
+     */
+    static boolean isAsciiWhitespace( final char c )
+    {
+        return ( ASCII_CLASSES[c] & WHITESPACE ) != 0;
+    }
+
+    /**
+     * Tests whether a character is permissible as the first character of a Java identifier.
+     *
+     * @see Character#isJavaIdentifierStart(int)
+     */
+    static boolean isIdentifierStart( final int codePoint )
+    {
+        return ( classesOf( codePoint ) & IDENTIFIER_START ) != 0;
+    }
+
+    /**
+     * Tests whether a character is permissible as part of a Java identifier.
+     *
+     * @see Character#isJavaIdentifierPart(int)
+     */
+    static boolean isIdentifierPart( final int codePoint )
+    {
+        return ( classesOf( codePoint ) & IDENTIFIER_PART ) != 0;
+    }
+
+    /**
+     * Tests whether a character is a letter or digit.
+     *
+     * @see Character#isLetterOrDigit(int)
+     */
+    static boolean isLetterOrDigit( final int codePoint )
+    {
+        return ( classesOf( codePoint ) & LETTER_OR_DIGIT ) != 0;
+    }
+
+    /**
+     * Tests whether a character is whitespace.
+     *
+     * @see Character#isWhitespace(int)
+     */
+    static boolean isWhitespace( final int codePoint )
+    {
+        return ( classesOf( codePoint ) & WHITESPACE ) != 0;
+    }
+
+    /**
+     * Tests whether a character is a lowercase character.
+     *
+     * @see Character#isLowerCase(int)
+     */
+    static boolean isLowerCase( final int codePoint )
+    {
+        return ( classesOf( codePoint ) & LOWER_CASE ) != 0;
+    }
+
+    /**
+     * Tests whether a character is an uppercase character.
+     *
+     * @see Character#isUpperCase(int)
+     */
+    static boolean isUpperCase( final int codePoint )
+    {
+        return ( classesOf( codePoint ) & UPPER_CASE ) != 0;
+    }
+
+    /**
+     * Classes of all code points.
+     */
+    private static final class UnicodeClasses
+    {
+
+        private static final int BLOCK_SHIFT = 8;
+
+        private static final int BLOCK_MASK = ( 1 << BLOCK_SHIFT ) - 1;
+
+        /**
+         * Indices of the distinct blocks of classes in {@code BLOCKS} by block of code points.
+         */
+        private static final char[] BLOCK_INDICES = new char[ ( Character.MAX_CODE_POINT + 1 ) >>> BLOCK_SHIFT ];
+
+        /**
+         * Distinct blocks of classes of code points.
+         */
+        private static final byte[] BLOCKS;
+
+        static
+        {
+            final Map<ByteBuffer, Integer> indices = new HashMap<>( 256 );
+            final ByteArrayOutputStream blocks = new ByteArrayOutputStream( 1 << 16 );
+
+            for ( int i = 0, s0 = BLOCK_INDICES.length; i < s0; i++ )
+            {
+                final byte[] block = new byte[ BLOCK_MASK + 1 ];
+
+                for ( int j = 0, s1 = block.length; j < s1; j++ )
+                {
+                    block[j] = classify( i << BLOCK_SHIFT | j );
+                }
+
+                Integer index = indices.get( ByteBuffer.wrap( block ) );
+
+                if ( index == null )
+                {
+                    index = indices.size();
+                    indices.put( ByteBuffer.wrap( block ), index );
+                    blocks.write( block, 0, block.length );
+                }
+
+                BLOCK_INDICES[i] = (char) index.intValue();
+            }
+
+            BLOCKS = blocks.toByteArray();
+        }
+
+        private UnicodeClasses()
+        {
+            super();
+        }
+
+        private static int classesOf( final int codePoint )
+        {
+            return codePoint >= 0 && codePoint <= Character.MAX_CODE_POINT
+                       ? BLOCKS[BLOCK_INDICES[codePoint >>> BLOCK_SHIFT] << BLOCK_SHIFT | codePoint & BLOCK_MASK]
+                       : 0;
+
+        }
+
+    }
+
+}
@@ -30,19 +30,19 @@
  */
 package org.jomc.jls;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.lang.ref.Reference;
-import java.lang.ref.SoftReference;
-import java.text.MessageFormat;
-import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.ResourceBundle;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.jomc.jls.spi.Cache;
+import org.jomc.jls.spi.CacheKey;
 
 /**
  * Data type of a Java identifier.
@@ -50,6 +50,10 @@ import java.util.stream.Stream;
  * This class provides support for parsing and normalizing text to java identifiers as specified in the Java
  * Language Specification - Java SE 7 Edition - Chapter 3.8ff.
  * </p>
+ * <p>
+ * Instances are canonical. As long as an instance is reachable, parsing, normalizing or deserializing text denoting
+ * an equal identifier yields that same instance, so that instances can be compared using the {@code ==} operator.
+ * </p>
  *
  * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
  * @version $JOMC$
@@ -123,20 +127,46 @@ public final class JavaIdentifier implements CharSequence, Serializable
      */
     private String identifier;
 
+    /**
+     * Cached words of the instance.
+     */
+    private transient volatile IdentifierWords cachedWords;
+
+    /**
+     * Cached instances converted from the instance by normalization mode.
+     */
+    private transient volatile AtomicReferenceArray<JavaIdentifier> cachedConversions;
+
     /**
      * Cached instances.
      */
-    private static volatile Reference<Map<CacheKey, JavaIdentifier>> cache;
+    private static final Cache<CacheKey, JavaIdentifier> CACHE =
+        Caches.createCache( JavaIdentifier.class.getName() );
 
     /**
-     * Serial version UID for backwards compatibility with 7.x object streams.
+     * Cached parse failures.
      */
-    private static final long serialVersionUID = 7639783770152985285L;
+    private static final Cache<CacheKey, ParseResult<JavaIdentifier>> FAILURES = Caches.createFailureCache();
+
+    /**
+     * Statistics of the cache.
+     */
+    private static final CacheMonitor MONITOR = new CacheMonitor( JavaIdentifier.class.getName(), CACHE );
+
+    /**
+     * Canonical instances.
+     */
+    private static final Cache<String, JavaIdentifier> INSTANCES = new ReferenceCache<>( false );
+
+    /**
+     * Parses in flight.
+     */
+    private static final SingleFlight<CacheKey, ParseResult<JavaIdentifier>> PARSES = new SingleFlight<>();
 
     /**
-     * Underscore character.
+     * Serial version UID for backwards compatibility with 7.x object streams.
      */
-    private static final int UNDERSCORE_CODEPOINT = Character.codePointAt( "_", 0 );
+    private static final long serialVersionUID = 7639783770152985285L;
 
     /**
      * Creates a new {@code JavaIdentifier} instance.
@@ -201,6 +231,134 @@ public final class JavaIdentifier implements CharSequence, Serializable
         return this.identifier;
     }
 
+    /**
+     * Gets the words of the identifier.
+     * <p>
+     * Words are separated by code points not being both a Java letter or digit and a letter or digit, and at
+     * camel-case humps. For example, the words of {@code fooBarBaz} and of {@code FOO_BAR_BAZ} are {@code foo},
+     * {@code Bar}, {@code Baz} and {@code FOO}, {@code BAR}, {@code BAZ}. The word boundaries are computed once per
+     * instance.
+     * </p>
+     *
+     * @return An unmodifiable list of the words of the identifier.
+     *
+     * @see #as(NormalizationMode)
+     */
+    public List<String> words()
+    {
+        final IdentifierWords words = this.getWords();
+        final String[] strings = new String[ words.count() ];
+
+        for ( int i = 0, s0 = strings.length; i < s0; i++ )
+        {
+            strings[i] = this.identifier.substring( words.start( i ), words.end( i ) );
+        }
+
+        return Collections.unmodifiableList( Arrays.asList( strings ) );
+    }
+
+    /**
+     * Converts the identifier according to a normalization mode.
+     * <p>
+     * The words of the identifier are normalized without segmenting the identifier again, so that converting
+     * {@code fooBarBaz} to the {@code CONSTANT_NAME_CONVENTION} mode results in {@code FOO_BAR_BAZ}. The outcome is
+     * the same as normalizing the words of the identifier separated by spaces. Converted instances are cached per
+     * instance.
+     * </p>
+     *
+     * @param mode The normalization to apply.
+     *
+     * @return The {@code JavaIdentifier} instance constructed by normalizing the words of the identifier according to
+     * {@code mode}.
+     *
+     * @throws NullPointerException if {@code mode} is {@code null}.
+     * @throws JavaParseException if the identifier has no words to normalize.
+     *
+     * @see #words()
+     * @see #normalize(String, NormalizationMode)
+     */
+    public JavaIdentifier as( final NormalizationMode mode ) throws JavaParseException
+    {
+        Objects.requireNonNull( mode, "mode" );
+        final long time = MONITOR.start();
+        AtomicReferenceArray<JavaIdentifier> conversions = this.cachedConversions;
+
+        if ( conversions == null )
+        {
+            conversions = new AtomicReferenceArray<>( NormalizationMode.values().length );
+            this.cachedConversions = conversions;
+        }
+
+        JavaIdentifier javaIdentifier = conversions.get( mode.ordinal() );
+
+        if ( javaIdentifier != null )
+        {
+            MONITOR.hit( time );
+        }
+        else
+        {
+            javaIdentifier = this.convert( mode, time );
+            conversions.set( mode.ordinal(), javaIdentifier );
+        }
+
+        return javaIdentifier;
+    }
+
+    private IdentifierWords getWords()
+    {
+        IdentifierWords words = this.cachedWords;
+
+        if ( words == null )
+        {
+            words = IdentifierWords.ofIdentifier( this.identifier );
+            this.cachedWords = words;
+        }
+
+        return words;
+    }
+
+    private JavaIdentifier convert( final NormalizationMode mode, final long time ) throws JavaParseException
+    {
+        final IdentifierWords words = this.getWords();
+
+        if ( words.count() <= 0 )
+        {
+            // Normalizing records the request.
+            return normalize( this.identifier, mode );
+        }
+
+        // Normalizes the words joined by spaces, so that the outcome equals normalizing the joined words.
+        final StringBuilder text = new StringBuilder( this.identifier.length() + words.count() );
+        final int[] bounds = new int[ 2 * words.count() ];
+
+        for ( int i = 0, s0 = words.count(); i < s0; i++ )
+        {
+            if ( i > 0 )
+            {
+                text.append( ' ' );
+            }
+
+            bounds[2 * i] = text.length();
+            text.append( this.identifier, words.start( i ), words.end( i ) );
+            bounds[2 * i + 1] = text.length();
+        }
+
+        final IdentifierWords joinedWords = new IdentifierWords( bounds, words.count(), words.isSeparated() );
+        final JavaIdentifier javaIdentifier = new JavaIdentifier();
+
+        try
+        {
+            final ParseResult<JavaIdentifier> failure =
+                normalizeIdentifier( javaIdentifier, text.toString(), joinedWords, IdentifierNormalizer.of( mode ) );
+
+            return failure != null ? failure.get() : javaIdentifier.canonicalize();
+        }
+        finally
+        {
+            MONITOR.miss( time, this.identifier.length() );
+        }
+    }
+
     /**
      * Returns the hash-code value of the object.
      *
@@ -242,11 +400,101 @@ public final class JavaIdentifier implements CharSequence, Serializable
      * @return A {@code JavaIdentifier} instance constructed by normalizing {@code text} according to {@code mode}.
      *
      * @throws NullPointerException if {@code text} or {@code mode} is {@code null}.
-     * @throws ParseException if normalization fails.
+     * @throws JavaParseException if normalization fails.
      */
-    public static JavaIdentifier normalize( final String text, final NormalizationMode mode ) throws ParseException
+    public static JavaIdentifier normalize( final String text, final NormalizationMode mode ) throws JavaParseException
     {
-        return parse( Objects.requireNonNull( text, "text" ), Objects.requireNonNull( mode, "mode" ), false );
+        Objects.requireNonNull( text, "text" );
+
+        if ( IdentifierNormalizer.of( Objects.requireNonNull( mode, "mode" ) ).isNormalized( text ) )
+        {
+            // Normalized text is an identifier as is and needs no cache entry of its own.
+            return valueOfNormalized( text );
+        }
+
+        return parse( text, 0, text.length(), mode );
+    }
+
+    /**
+     * Normalizes text from the beginning of the given string to produce a {@code JavaIdentifier} for each of a set of
+     * normalization modes.
+     * <p>
+     * The text is segmented into words at most once for all modes, which is cheaper than calling the
+     * {@link #normalize(String, NormalizationMode)} method for each mode.
+     * </p>
+     *
+     * @param text The text to normalize.
+     * @param modes The normalizations to apply.
+     *
+     * @return A new map of the {@code JavaIdentifier} instances constructed by normalizing {@code text} according to
+     * each of {@code modes} keyed by mode.
+     *
+     * @throws NullPointerException if {@code text} or {@code modes} is {@code null} or if {@code modes} contains a
+     * {@code null} element.
+     * @throws JavaParseException if normalization fails.
+     *
+     * @see #normalize(String, NormalizationMode)
+     */
+    public static Map<NormalizationMode, JavaIdentifier> normalizeAll( final String text,
+                                                                     final Set<NormalizationMode> modes )
+        throws JavaParseException
+    {
+        Objects.requireNonNull( text, "text" );
+        final Map<NormalizationMode, JavaIdentifier> javaIdentifiers = new EnumMap<>( NormalizationMode.class );
+        IdentifierWords words = null;
+
+        for ( final NormalizationMode mode : Objects.requireNonNull( modes, "modes" ) )
+        {
+            final IdentifierNormalizer normalizer = IdentifierNormalizer.of( Objects.requireNonNull( mode, "mode" ) );
+
+            if ( normalizer.isNormalized( text ) )
+            {
+                javaIdentifiers.put( mode, valueOfNormalized( text ) );
+                continue;
+            }
+
+            final long time = MONITOR.start();
+            final CacheKey key = CacheKey.of( text, mode );
+            JavaIdentifier javaIdentifier = CACHE.get( key );
+
+            if ( javaIdentifier != null )
+            {
+                MONITOR.hit( time );
+            }
+            else
+            {
+                final ParseResult<JavaIdentifier> failure = FAILURES.get( key );
+
+                if ( failure != null )
+                {
+                    MONITOR.hit( time );
+                    javaIdentifier = failure.get();
+                }
+                else
+                {
+                    if ( words == null )
+                    {
+                        words = IdentifierWords.of( text );
+                    }
+
+                    final IdentifierWords segmentation = words;
+
+                    try
+                    {
+                        javaIdentifier =
+                            PARSES.parse( key, ()  -> normalizeAndCache( key, text, segmentation, normalizer ) ).get();
+                    }
+                    finally
+                    {
+                        MONITOR.miss( time, key.length() );
+                    }
+                }
+            }
+
+            javaIdentifiers.put( mode, javaIdentifier );
+        }
+
+        return javaIdentifiers;
     }
 
     /**
@@ -257,13 +505,41 @@ public final class JavaIdentifier implements CharSequence, Serializable
      * @return A {@code JavaIdentifier} instance constructed by parsing {@code text}.
      *
      * @throws NullPointerException if {@code text} is {@code null}.
-     * @throws ParseException if parsing fails.
+     * @throws JavaParseException if parsing fails.
      *
      * @see #valueOf(java.lang.String)
      */
-    public static JavaIdentifier parse( final String text ) throws ParseException
+    public static JavaIdentifier parse( final String text ) throws JavaParseException
     {
-        return parse( Objects.requireNonNull( text, "text" ), null, false );
+        return parse( text, 0, Objects.requireNonNull( text, "text" ).length(), null );
+    }
+
+    /**
+     * Parses a range of characters of a given character sequence to produce a {@code JavaIdentifier} instance.
+     * <p>
+     * No string is created for the range of characters, if a {@code JavaIdentifier} instance for an equal range of
+     * characters is cached.
+     * </p>
+     *
+     * @param text The character sequence holding the characters to parse.
+     * @param start The index of the first character to parse, inclusive.
+     * @param end The index of the last character to parse, exclusive.
+     *
+     * @return A {@code JavaIdentifier} instance constructed by parsing the characters of {@code text} from
+     * {@code start} to {@code end - 1}.
+     *
+     * @throws NullPointerException if {@code text} is {@code null}.
+     * @throws IndexOutOfBoundsException if {@code start} or {@code end} are negative, if {@code end} is greater than
+     * the length of {@code text}, or if {@code start} is greater than {@code end}.
+     * @throws JavaParseException if parsing fails. The error offset of the exception is relative to {@code start}.
+     *
+     * @see #parse(java.lang.String)
+     */
+    public static JavaIdentifier parse( final CharSequence text, final int start, final int end )
+        throws JavaParseException
+    {
+        Objects.checkFromToIndex( start, end, Objects.requireNonNull( text, "text" ).length() );
+        return parse( text, start, end, null );
     }
 
     /**
@@ -278,304 +554,351 @@ public final class JavaIdentifier implements CharSequence, Serializable
      * @return A {@code JavaIdentifier} instance constructed by parsing {@code text}.
      *
      * @throws NullPointerException if {@code text} is {@code null}.
-     * @throws IllegalArgumentException if parsing fails.
+     * @throws JavaIllegalArgumentException if parsing fails.
      *
      * @see #parse(java.lang.String)
      */
-    public static JavaIdentifier valueOf( final String text ) throws IllegalArgumentException
+    public static JavaIdentifier valueOf( final String text ) throws JavaIllegalArgumentException
     {
         try
         {
-            return parse( Objects.requireNonNull( text, "text" ), null, true );
+            return parse( text );
         }
-        catch ( final ParseException e )
+        catch ( final JavaParseException e )
         {
-            throw new AssertionError( e );
+            throw new JavaIllegalArgumentException( e );
         }
     }
 
-    private static JavaIdentifier parse( final String text, final NormalizationMode mode,
-                                         final boolean runtimeException )
-        throws ParseException
+    /**
+     * Parses text to produce a {@code JavaIdentifier} instance without throwing an exception if parsing fails.
+     *
+     * @param text The text to parse.
+     *
+     * @return The outcome of parsing {@code text}.
+     *
+     * @throws NullPointerException if {@code text} is {@code null}.
+     *
+     * @see #parse(java.lang.String)
+     */
+    public static ParseResult<JavaIdentifier> tryParse( final CharSequence text )
     {
-        Map<CacheKey, JavaIdentifier> map = cache == null ? null : cache.get();
+        final long time = MONITOR.start();
+        final CacheKey key = CacheKey.probe( Objects.requireNonNull( text, "text" ), 0, text.length(), null );
+        final JavaIdentifier javaIdentifier = CACHE.get( key );
 
-        if ( map == null )
+        if ( javaIdentifier != null )
         {
-            map = new HashMap<>( 128 );
-            cache = new SoftReference<>( map );
+            MONITOR.hit( time );
+            return new ParseResult<>( javaIdentifier );
         }
 
-        synchronized ( map )
-        {
-            final CacheKey key = new CacheKey( text, mode );
-            JavaIdentifier javaIdentifier = map.get( key );
+        return parseUncached( key, time );
+    }
 
-            if ( javaIdentifier == null )
-            {
-                javaIdentifier = new JavaIdentifier();
-                parseIdentifier( javaIdentifier, text, mode, runtimeException );
+    /**
+     * Tests whether text denotes a valid Java identifier.
+     * <p>
+     * Unlike the {@link #parse(String)} and {@link #tryParse(CharSequence)} methods, this method does not cache the
+     * outcome of parsing {@code text}.
+     * </p>
+     *
+     * @param text The text to test.
+     *
+     * @return {@code true}, if {@code text} denotes a valid Java identifier; {@code false}, else.
+     *
+     * @throws NullPointerException if {@code text} is {@code null}.
+     */
+    public static boolean isValid( final CharSequence text )
+    {
+        final CacheKey key = CacheKey.probe( Objects.requireNonNull( text, "text" ), 0, text.length(), null );
+        return CACHE.get( key ) != null
+                   || ( FAILURES.get( key ) == null
+                        && parseIdentifier( new JavaIdentifier(), key.toString(), null ) == null );
 
-                if ( mode != null )
-                {
-                    final CacheKey normalizedKey = new CacheKey( javaIdentifier.toString(), mode );
-                    final JavaIdentifier normalizedInstance = map.get( normalizedKey );
+    }
 
-                    if ( normalizedInstance != null )
-                    {
-                        map.put( key, normalizedInstance );
-                        javaIdentifier = normalizedInstance;
-                    }
-                    else
-                    {
-                        map.put( key, javaIdentifier );
-                        map.put( normalizedKey, javaIdentifier );
-                    }
-                }
-                else
-                {
-                    map.put( key, javaIdentifier );
-                }
-            }
+    /**
+     * Gets a snapshot of the statistics of the cache of parsed instances.
+     *
+     * @return A snapshot of the statistics of the cache of parsed instances.
+     *
+     * @see CacheStatisticsMXBean
+     */
+    public static CacheStatistics getCacheStatistics()
+    {
+        return MONITOR.snapshot();
+    }
 
+    private static JavaIdentifier parse( final CharSequence text, final int start, final int end,
+                                         final NormalizationMode mode )
+        throws JavaParseException
+    {
+        final long time = MONITOR.start();
+        final CacheKey key = CacheKey.probe( text, start, end, mode );
+        final JavaIdentifier javaIdentifier = CACHE.get( key );
+
+        if ( javaIdentifier != null )
+        {
+            MONITOR.hit( time );
             return javaIdentifier;
         }
+
+        return parseUncached( key, time ).get();
     }
 
-    private static void parseIdentifier( final JavaIdentifier t, final String text, final NormalizationMode mode,
-                                         final boolean runtimeException )
-        throws ParseException
+    private static ParseResult<JavaIdentifier> parseUncached( final CacheKey probe, final long time )
     {
-        if ( text.length() <= 0 )
+        final ParseResult<JavaIdentifier> failure = FAILURES.get( probe );
+
+        if ( failure != null )
         {
-            if ( runtimeException )
-            {
-                throw new IllegalArgumentException( getMessage( "invalidEmptyString" ) );
-            }
-            else
-            {
-                throw new ParseException( getMessage( "invalidEmptyString" ), 0 );
-            }
+            MONITOR.hit( time );
+            return failure;
         }
 
-        final StringBuilder identifierBuilder = new StringBuilder( text.length() );
-        final List<Integer> retainedIndices = new ArrayList<>( text.length() );
-        boolean start_of_word = true;
-        int words = 0;
+        // Keys of entries and flights must not refer to the possibly mutable character sequence of the probe.
+        final CacheKey key = probe.toStableKey();
 
-        for ( int i = 0, j = 1, s0 = text.length(), last_codepoint = -1; i < s0; i++, j++ )
+        try
         {
-            if ( !isWordSeparator( text.codePointAt( i ), mode, identifierBuilder.length() <= 0 ) )
-            {
-                if ( mode != null )
-                {
-                    switch ( mode )
-                    {
-                        case CAMEL_CASE:
-                            if ( start_of_word )
-                            {
-                                identifierBuilder.append( Character.toUpperCase( text.charAt( i ) ) );
-                            }
-                            else if ( last_codepoint > -1 && j < s0
-                                          && isCamelCase( last_codepoint, text.codePointAt( i ),
-                                                          text.codePointAt( j ) ) )
-                            {
-                                // Retain camel-case in words.
-                                identifierBuilder.append( text.charAt( i ) );
-                                retainedIndices.add( identifierBuilder.length() - 1 );
-                            }
-                            else
-                            {
-                                identifierBuilder.append( Character.toLowerCase( text.charAt( i ) ) );
-                            }
-                            break;
-
-                        case LOWER_CASE:
-                            if ( start_of_word && last_codepoint > -1 && last_codepoint != UNDERSCORE_CODEPOINT )
-                            {
-                                identifierBuilder.append( Character.toChars( UNDERSCORE_CODEPOINT ) );
-                            }
-
-                            identifierBuilder.append( Character.toLowerCase( text.charAt( i ) ) );
-                            break;
-
-                        case UPPER_CASE:
-                        case CONSTANT_NAME_CONVENTION:
-                            if ( start_of_word && last_codepoint > -1 && last_codepoint != UNDERSCORE_CODEPOINT )
-                            {
-                                identifierBuilder.append( Character.toChars( UNDERSCORE_CODEPOINT ) );
-                            }
-
-                            identifierBuilder.append( Character.toUpperCase( text.charAt( i ) ) );
-                            break;
-
-                        case VARIABLE_NAME_CONVENTION:
-                        case METHOD_NAME_CONVENTION:
-                            if ( start_of_word )
-                            {
-                                identifierBuilder.append( words == 0
-                                                              ? Character.toLowerCase( text.charAt( i ) )
-                                                              : Character.toUpperCase( text.charAt( i ) ) );
-
-                            }
-                            else if ( last_codepoint > -1 && j < s0
-                                          && isCamelCase( last_codepoint, text.codePointAt( i ),
-                                                          text.codePointAt( j ) ) )
-                            {
-                                // Retain camel-case in words.
-                                identifierBuilder.append( text.charAt( i ) );
-                                retainedIndices.add( identifierBuilder.length() - 1 );
-                            }
-                            else
-                            {
-                                identifierBuilder.append( Character.toLowerCase( text.charAt( i ) ) );
-                            }
-                            break;
-
-                        default:
-                            throw new AssertionError( mode );
+            return PARSES.parse( key, ()  -> parseAndCache( key ) );
+        }
+        finally
+        {
+            MONITOR.miss( time, key.length() );
+        }
+    }
 
-                    }
-                }
-                else
-                {
-                    identifierBuilder.append( text.charAt( i ) );
-                }
+    private static ParseResult<JavaIdentifier> parseAndCache( final CacheKey key )
+    {
+        final NormalizationMode mode = (NormalizationMode) key.getQualifier();
 
-                last_codepoint = identifierBuilder.codePointAt( identifierBuilder.length() - 1 );
-                start_of_word = false;
-            }
-            else
+        // Parses in flight of the same key may have completed since the cache got queried.
+        JavaIdentifier javaIdentifier = CACHE.get( key );
+
+        if ( javaIdentifier == null )
+        {
+            javaIdentifier = new JavaIdentifier();
+            final ParseResult<JavaIdentifier> failure = parseIdentifier( javaIdentifier, key.toString(), mode );
+
+            if ( failure != null )
             {
-                if ( mode != null )
-                {
-                    if ( !start_of_word )
-                    {
-                        start_of_word = true;
-                        words++;
-                    }
-                }
-                else if ( runtimeException )
-                {
-                    throw new IllegalArgumentException( getMessage( "invalidCharacter", text, text.charAt( i ), i ) );
-                }
-                else
-                {
-                    throw new ParseException( getMessage( "invalidCharacter", text, text.charAt( i ), i ), i );
-                }
+                FAILURES.putIfAbsent( key, failure );
+                return failure;
             }
+
+            javaIdentifier = cache( key, javaIdentifier );
         }
 
-        t.identifier = identifierBuilder.toString();
+        return new ParseResult<>( javaIdentifier );
+    }
 
-        if ( words > 0 )
-        {
-            // Multiple words - no camel-case retained in any word.
-            t.identifier = toLowerCase( t.identifier, retainedIndices );
-        }
+    private static ParseResult<JavaIdentifier> normalizeAndCache( final CacheKey key, final String text,
+                                                                  final IdentifierWords words,
+                                                                  final IdentifierNormalizer normalizer )
+    {
+        // Normalizations in flight of the same key may have completed since the cache got queried.
+        JavaIdentifier javaIdentifier = CACHE.get( key );
 
-        if ( t.identifier.length() <= 0 )
+        if ( javaIdentifier == null )
         {
-            if ( runtimeException )
-            {
-                throw new IllegalArgumentException( getMessage( "invalidCharacters", text ) );
-            }
-            else
+            javaIdentifier = new JavaIdentifier();
+            final ParseResult<JavaIdentifier> failure = normalizeIdentifier( javaIdentifier, text, words, normalizer );
+
+            if ( failure != null )
             {
-                throw new ParseException( getMessage( "invalidCharacters", text ), 0 );
+                FAILURES.putIfAbsent( key, failure );
+                return failure;
             }
+
+            javaIdentifier = cache( key, javaIdentifier );
         }
 
-        if ( JavaLanguage.isKeywordOrBooleanOrNullLiteral( t.identifier::equals ) )
-        {
-            if ( mode != null )
-            {
-                t.identifier = "_" + t.identifier;
-            }
-            else if ( runtimeException )
-            {
-                throw new IllegalArgumentException( getMessage( "invalidWord", text, t.identifier,
-                                                                text.indexOf( t.identifier ) ) );
+        return new ParseResult<>( javaIdentifier );
+    }
 
-            }
-            else
-            {
-                throw new ParseException( getMessage( "invalidWord", text, t.identifier, text.indexOf( t.identifier ) ),
-                                          text.indexOf( t.identifier ) );
+    /**
+     * Caches a parsed instance.
+     *
+     * @param key The key of the text parsed.
+     * @param javaIdentifier The instance parsed from the text of {@code key}.
+     *
+     * @return The canonical instance equal to {@code javaIdentifier}.
+     */
+    private static JavaIdentifier cache( final CacheKey key, final JavaIdentifier javaIdentifier )
+    {
+        final JavaIdentifier canonicalInstance = javaIdentifier.canonicalize();
 
-            }
+        if ( key.getQualifier() != null )
+        {
+            // Normalized text and text to normalize share the canonical instance.
+            CACHE.putIfAbsent( CacheKey.of( canonicalInstance.toString(), key.getQualifier() ), canonicalInstance );
         }
+
+        CACHE.putIfAbsent( key, canonicalInstance );
+        return canonicalInstance;
     }
 
-    private static boolean isWordSeparator( final int codePoint, final NormalizationMode mode, final boolean first )
+    /**
+     * Gets the canonical instance of normalized text.
+     *
+     * @param text The normalized text.
+     *
+     * @return The canonical instance of {@code text}.
+     */
+    private static JavaIdentifier valueOfNormalized( final String text )
     {
-        return !( ( first ? Character.isJavaIdentifierStart( codePoint ) : Character.isJavaIdentifierPart( codePoint ) )
-                  && ( mode != null ? Character.isLetterOrDigit( codePoint ) : true ) );
+        final long time = MONITOR.start();
+        final JavaIdentifier canonicalInstance = INSTANCES.get( text );
+
+        if ( canonicalInstance != null )
+        {
+            MONITOR.hit( time );
+            return canonicalInstance;
+        }
 
+        final JavaIdentifier javaIdentifier = new JavaIdentifier();
+        javaIdentifier.identifier = text;
+        MONITOR.miss( time, text.length() );
+        return javaIdentifier.canonicalize();
     }
 
-    private static boolean isCamelCase( final int left, final int middle, final int right )
+    /**
+     * Gets the canonical instance of the identifier of the instance.
+     *
+     * @return The canonical instance equal to the instance.
+     */
+    private JavaIdentifier canonicalize()
     {
-        return Character.isLowerCase( left ) && Character.isUpperCase( middle ) && Character.isLowerCase( right );
+        final JavaIdentifier canonicalInstance = INSTANCES.putIfAbsent( this.identifier, this );
+        return canonicalInstance != null ? canonicalInstance : this;
     }
 
-    private static String toLowerCase( final String string, final List<Integer> indices )
+    /**
+     * Resolves a deserialized instance to its canonical instance.
+     *
+     * @return The canonical instance equal to the deserialized instance.
+     *
+     * @throws ObjectStreamException if the deserialized instance holds no identifier.
+     */
+    private Object readResolve() throws ObjectStreamException
     {
-        final char[] chars = string.toCharArray();
-
-        try ( final Stream<Integer> stream = indices.parallelStream().unordered() )
+        if ( this.identifier == null )
         {
-            stream.forEach( i  -> chars[i] = Character.toLowerCase( chars[i] ) );
+            throw new InvalidObjectException( "identifier" );
         }
 
-        return String.valueOf( chars );
+        return this.canonicalize();
     }
 
-    private static String getMessage( final String key, final Object... args )
+    private static ParseResult<JavaIdentifier> parseIdentifier( final JavaIdentifier t, final String text,
+                                                                final NormalizationMode mode )
     {
-        return MessageFormat.format( ResourceBundle.getBundle(
-            JavaIdentifier.class.getName().replace( '.', '/' ), Locale.getDefault() ).
-            getString( key ), args );
+        if ( text.length() <= 0 )
+        {
+            return new ParseResult<>( ParseErrorCode.INVALID_EMPTY_STRING, text, null, 0, JavaIdentifier.class );
+        }
+
+        if ( mode == null )
+        {
+            return JavaCharacters.isAscii( text, 0, text.length() )
+                       ? parseAsciiIdentifier( t, text )
+                       : parseUnicodeIdentifier( t, text );
+
+        }
 
+        return normalizeIdentifier( t, text, IdentifierWords.of( text ), IdentifierNormalizer.of( mode ) );
     }
 
-    private static final class CacheKey
+    private static ParseResult<JavaIdentifier> normalizeIdentifier( final JavaIdentifier t, final String text,
+                                                                    final IdentifierWords words,
+                                                                    final IdentifierNormalizer normalizer )
     {
+        if ( text.length() <= 0 )
+        {
+            return new ParseResult<>( ParseErrorCode.INVALID_EMPTY_STRING, text, null, 0, JavaIdentifier.class );
+        }
 
-        private final String text;
+        final IdentifierBuffer identifierBuilder = IdentifierBuffer.get( text.length() );
+        normalizer.normalize( text, words, identifierBuilder );
 
-        private final NormalizationMode mode;
+        if ( identifierBuilder.length() <= 0 )
+        {
+            return new ParseResult<>( ParseErrorCode.INVALID_CHARACTERS, text, null, 0, JavaIdentifier.class );
+        }
 
-        private CacheKey( final String text, final NormalizationMode mode )
+        if ( JavaLanguage.isKeywordOrBooleanOrNullLiteral( identifierBuilder ) )
         {
-            super();
-            this.text = text;
-            this.mode = mode;
+            identifierBuilder.prepend( '_' );
         }
 
-        @Override
-        public int hashCode()
+        t.identifier = identifierBuilder.toString();
+        return null;
+    }
+
+    /**
+     * Parses text containing non-ASCII characters without normalizing it.
+     */
+    private static ParseResult<JavaIdentifier> parseUnicodeIdentifier( final JavaIdentifier t, final String text )
+    {
+        for ( int i = 0, j, s0 = text.length(); i < s0; i = j )
         {
-            int hc = 23;
-            hc = 37 * hc + this.text.hashCode();
-            hc = 37 * hc + ( this.mode == null ? 0 : this.mode.hashCode() );
-            return hc;
+            final int codepoint = text.codePointAt( i );
+            j = i + Character.charCount( codepoint );
+
+            if ( !( i == 0
+                    ? JavaCharacters.isIdentifierStart( codepoint )
+                    : JavaCharacters.isIdentifierPart( codepoint ) ) )
+            {
+                return new ParseResult<>( ParseErrorCode.INVALID_CHARACTER, text, text.substring( i, j ), i,
+                                          JavaIdentifier.class );
+
+            }
+        }
+
+        if ( JavaLanguage.isKeywordOrBooleanOrNullLiteral( text ) )
+        {
+            return new ParseResult<>( ParseErrorCode.INVALID_WORD, text, text, 0, JavaIdentifier.class );
         }
 
-        @Override
-        public boolean equals( final Object o )
+        t.identifier = text;
+        return null;
+    }
+
+    /**
+     * Parses text consisting of ASCII characters only without normalizing it.
+     * <p>
+     * Text not to normalize is a valid identifier as is, so that no characters need to be copied. Characters are
+     * classified by table lookup only.
+     * </p>
+     */
+    private static ParseResult<JavaIdentifier> parseAsciiIdentifier( final JavaIdentifier t, final String text )
+    {
+        if ( !JavaCharacters.isAsciiIdentifierStart( text.charAt( 0 ) ) )
         {
-            boolean equal = o == this;
+            return new ParseResult<>( ParseErrorCode.INVALID_CHARACTER, text, String.valueOf( text.charAt( 0 ) ), 0,
+                                      JavaIdentifier.class );
+
+        }
 
-            if ( !equal && o instanceof CacheKey )
+        for ( int i = 1, s0 = text.length(); i < s0; i++ )
+        {
+            if ( !JavaCharacters.isAsciiIdentifierPart( text.charAt( i ) ) )
             {
-                final CacheKey that = (CacheKey) o;
-                equal = this.mode == that.mode && this.text.equals( that.text );
+                return new ParseResult<>( ParseErrorCode.INVALID_CHARACTER, text, String.valueOf( text.charAt( i ) ),
+                                          i, JavaIdentifier.class );
+
             }
+        }
 
-            return equal;
+        if ( JavaLanguage.isKeywordOrBooleanOrNullLiteral( text ) )
+        {
+            return new ParseResult<>( ParseErrorCode.INVALID_WORD, text, text, 0, JavaIdentifier.class );
         }
 
+        t.identifier = text;
+        return null;
     }
 
 }
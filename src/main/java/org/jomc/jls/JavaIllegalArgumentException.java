@@ -0,0 +1,101 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.Objects;
+
+/**
+ * Signals illegal text of the Java language passed to a method.
+ * <p>
+ * The exception wraps the {@code JavaParseException} parsing the text failed with. Its message is the message of that
+ * exception and is formatted when requested.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see JavaIdentifier#valueOf(java.lang.String)
+ * @see JavaTypeName#valueOf(java.lang.String)
+ */
+public final class JavaIllegalArgumentException extends IllegalArgumentException
+{
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = 6300605550301605362L;
+
+    /**
+     * Creates a new {@code JavaIllegalArgumentException} instance.
+     *
+     * @param cause The exception parsing the text failed with.
+     */
+    JavaIllegalArgumentException( final JavaParseException cause )
+    {
+        // The message is not passed to the super constructor, as that would format it.
+        super( null, Objects.requireNonNull( cause, "cause" ) );
+    }
+
+    /**
+     * Gets the exception parsing the text failed with.
+     *
+     * @return The exception parsing the text failed with.
+     */
+    @Override
+    public synchronized JavaParseException getCause()
+    {
+        return (JavaParseException) super.getCause();
+    }
+
+    /**
+     * Gets the message of the exception parsing the text failed with.
+     *
+     * @return The message of the exception parsing the text failed with.
+     */
+    @Override
+    public String getMessage()
+    {
+        return this.getCause().getMessage();
+    }
+
+    /**
+     * Fills in the stack trace of the exception unless disabled.
+     *
+     * @return This exception.
+     *
+     * @see JavaParseException
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace()
+    {
+        return JavaParseException.WRITABLE_STACK_TRACE ? super.fillInStackTrace() : this;
+    }
+
+}
@@ -30,11 +30,9 @@
  */
 package org.jomc.jls;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 /**
  * Java language support.
@@ -104,8 +102,66 @@ class JavaLanguage
      */
     static final String NULL_LITERAL = "null";
 
+    /**
+     * Kind of words denoting a basic type.
+     *
+     * @see #getWordKind(int)
+     */
+    static final int WORD_BASIC_TYPE = 1;
+
+    /**
+     * Kind of words denoting a keyword other than a basic type.
+     *
+     * @see #getWordKind(int)
+     */
+    static final int WORD_KEYWORD = 2;
+
+    /**
+     * Kind of words denoting a boolean literal.
+     *
+     * @see #getWordKind(int)
+     */
+    static final int WORD_BOOLEAN_LITERAL = 3;
+
+    /**
+     * Kind of the word denoting the null literal.
+     *
+     * @see #getWordKind(int)
+     */
+    static final int WORD_NULL_LITERAL = 4;
+
     private static final Set<String> KEYWORDS_AND_LITERALS = new HashSet<>( 50 );
 
+    /**
+     * Number of bits of the indices of the word table.
+     */
+    private static final int WORD_TABLE_BITS = 8;
+
+    /**
+     * Keywords and literals by perfect hash.
+     */
+    private static final String[] WORD_TABLE = new String[ 1 << WORD_TABLE_BITS ];
+
+    /**
+     * Kinds of the keywords and literals by perfect hash.
+     */
+    private static final int[] WORD_KIND_TABLE = new int[ 1 << WORD_TABLE_BITS ];
+
+    /**
+     * Length of the shortest keyword or literal.
+     */
+    private static final int MINIMUM_WORD_LENGTH;
+
+    /**
+     * Length of the longest keyword or literal.
+     */
+    private static final int MAXIMUM_WORD_LENGTH;
+
+    /**
+     * Multiplier of the perfect hash function.
+     */
+    private static final int WORD_HASH_SEED;
+
     static
     {
         // JLS - Java SE 7 Edition - Chapter 18. Syntax - BasicType
@@ -177,75 +233,195 @@ class JavaLanguage
         KEYWORDS_AND_LITERALS.addAll( KEYWORDS );
         KEYWORDS_AND_LITERALS.addAll( BOOLEAN_LITERALS );
         KEYWORDS_AND_LITERALS.add( NULL_LITERAL );
+
+        int minimumLength = Integer.MAX_VALUE;
+        int maximumLength = 0;
+
+        for ( final String word : KEYWORDS_AND_LITERALS )
+        {
+            minimumLength = Math.min( minimumLength, word.length() );
+            maximumLength = Math.max( maximumLength, word.length() );
+        }
+
+        MINIMUM_WORD_LENGTH = minimumLength;
+        MAXIMUM_WORD_LENGTH = maximumLength;
+        WORD_HASH_SEED = findWordHashSeed();
+
+        for ( final String word : KEYWORDS_AND_LITERALS )
+        {
+            final int index = hash( word, 0, word.length(), WORD_HASH_SEED );
+            WORD_TABLE[index] = word;
+            WORD_KIND_TABLE[index] = BASIC_TYPES.contains( word )
+                                         ? WORD_BASIC_TYPE
+                                         : KEYWORDS.contains( word )
+                                               ? WORD_KEYWORD
+                                               : BOOLEAN_LITERALS.contains( word )
+                                                     ? WORD_BOOLEAN_LITERAL
+                                                     : WORD_NULL_LITERAL;
+
+        }
     }
 
     /**
-     * Tests Java keywords.
+     * Searches the keywords and literals for a range of characters.
+     * <p>
+     * This method computes a perfect hash of the range and compares the range to at most one word. It does not
+     * allocate.
+     * </p>
      *
-     * @param predicate The predicate to evaluate (e.g. "Test"::equalsIgnoreCase).
+     * @param text The text holding the characters to search.
+     * @param start The index of the first character to search, inclusive.
+     * @param end The index of the last character to search, exclusive.
      *
-     * @return {@code true}, if {@code predicate} evaluates to {@code true} for any Java keyword; {@code false}, if not.
+     * @return The index of the keyword or literal equal to the range of characters or {@code -1}, if the range of
+     * characters does not denote a keyword or literal.
+     *
+     * @see #getWord(int)
+     * @see #getWordKind(int)
      */
-    static boolean isKeyword( final Predicate<? super String> predicate )
+    static int findWord( final CharSequence text, final int start, final int end )
     {
-        return isToken( KEYWORDS, predicate );
+        final int length = end - start;
+
+        if ( length < MINIMUM_WORD_LENGTH || length > MAXIMUM_WORD_LENGTH )
+        {
+            return -1;
+        }
+
+        final int index = hash( text, start, length, WORD_HASH_SEED );
+        final String word = WORD_TABLE[index];
+
+        if ( word == null || word.length() != length )
+        {
+            return -1;
+        }
+
+        for ( int i = length - 1; i >= 0; i-- )
+        {
+            if ( word.charAt( i ) != text.charAt( start + i ) )
+            {
+                return -1;
+            }
+        }
+
+        return index;
     }
 
     /**
-     * Tests Java boolean literals.
+     * Gets a keyword or literal.
      *
-     * @param predicate The predicate to evaluate (e.g. "Test"::equalsIgnoreCase).
+     * @param index The index of the word as returned by {@link #findWord(CharSequence, int, int)}.
      *
-     * @return {@code true}, if {@code predicate} evaluates to {@code true} for any Java boolean literal;
-     * {@code false}, if not.
+     * @return The keyword or literal at {@code index}.
      */
-    static boolean isBooleanLiteral( final Predicate<? super String> predicate )
+    static String getWord( final int index )
     {
-        return isToken( BOOLEAN_LITERALS, predicate );
+        return WORD_TABLE[index];
     }
 
     /**
-     * Tests the Java {@code null} literal.
+     * Gets the kind of a keyword or literal.
+     *
+     * @param index The index of the word as returned by {@link #findWord(CharSequence, int, int)}.
      *
-     * @param predicate The predicate to evaluate (e.g. "Test"::equalsIgnoreCase).
+     * @return The kind of the keyword or literal at {@code index}.
      *
-     * @return {@code true}, if {@code predicate} evaluates to {@code true} for the Java null literal;
-     * {@code false}, if not.
+     * @see #WORD_BASIC_TYPE
+     * @see #WORD_KEYWORD
+     * @see #WORD_BOOLEAN_LITERAL
+     * @see #WORD_NULL_LITERAL
      */
-    static boolean isNullLiteral( final Predicate<? super String> predicate )
+    static int getWordKind( final int index )
+    {
+        return WORD_KIND_TABLE[index];
+    }
+
+    private static int hash( final CharSequence text, final int start, final int length, final int seed )
     {
-        return predicate.test( NULL_LITERAL );
+        int h = length;
+        h = 31 * h + text.charAt( start );
+        h = 31 * h + text.charAt( start + 1 );
+        h = 31 * h + text.charAt( start + length - 1 );
+        return ( h * seed ) >>> ( Integer.SIZE - WORD_TABLE_BITS );
+    }
+
+    private static int findWordHashSeed()
+    {
+        final boolean[] used = new boolean[ 1 << WORD_TABLE_BITS ];
+
+        search:
+        for ( int seed = 0x9e3779b9, tries = 1 << 20; tries > 0; seed += 0x632be5ab * 2, tries-- )
+        {
+            Arrays.fill( used, false );
+
+            for ( final String word : KEYWORDS_AND_LITERALS )
+            {
+                final int index = hash( word, 0, word.length(), seed );
+
+                if ( used[index] )
+                {
+                    continue search;
+                }
+
+                used[index] = true;
+            }
+
+            return seed;
+        }
+
+        throw new AssertionError( "No perfect hash found for " + KEYWORDS_AND_LITERALS );
     }
 
     /**
-     * Tests Java keywords, Java boolean literals and the Java {@code null} literal.
+     * Tests whether text denotes a Java keyword.
      *
-     * @param predicate The predicate to evaluate (e.g. "Test"::equalsIgnoreCase).
+     * @param text The text to test.
      *
-     * @return {@code true}, if {@code predicate} evaluates to {@code true} for any Java keyword, Java boolean literal
-     * or the Java {@code null} literal; {@code false}, if not.
+     * @return {@code true}, if {@code text} denotes a Java keyword; {@code false}, if not.
      */
-    static boolean isKeywordOrBooleanOrNullLiteral( final Predicate<? super String> predicate )
+    static boolean isKeyword( final CharSequence text )
     {
-        return isToken( KEYWORDS_AND_LITERALS, predicate );
+        final int word = findWord( text, 0, text.length() );
+        return word >= 0 && ( WORD_KIND_TABLE[word] == WORD_BASIC_TYPE || WORD_KIND_TABLE[word] == WORD_KEYWORD );
     }
 
     /**
-     * Tests Java language tokens.
+     * Tests whether text denotes a Java boolean literal.
      *
-     * @param tokens A collection holding the tokens to test with.
-     * @param predicate The predicate to evaluate (e.g. "Test"::equalsIgnoreCase).
+     * @param text The text to test.
      *
-     * @return {@code true}, if {@code predicate} evaluates to {@code true} for any Java language token from
-     * {@code tokens}; {@code false}, if not.
+     * @return {@code true}, if {@code text} denotes a Java boolean literal; {@code false}, if not.
      */
-    private static <T extends String> boolean isToken( final Collection<T> tokens,
-                                                       final Predicate<? super String> predicate )
+    static boolean isBooleanLiteral( final CharSequence text )
     {
-        try ( final Stream<T> stream = tokens.parallelStream().unordered() )
-        {
-            return stream.anyMatch( predicate );
-        }
+        final int word = findWord( text, 0, text.length() );
+        return word >= 0 && WORD_KIND_TABLE[word] == WORD_BOOLEAN_LITERAL;
+    }
+
+    /**
+     * Tests whether text denotes the Java {@code null} literal.
+     *
+     * @param text The text to test.
+     *
+     * @return {@code true}, if {@code text} denotes the Java {@code null} literal; {@code false}, if not.
+     */
+    static boolean isNullLiteral( final CharSequence text )
+    {
+        final int word = findWord( text, 0, text.length() );
+        return word >= 0 && WORD_KIND_TABLE[word] == WORD_NULL_LITERAL;
+    }
+
+    /**
+     * Tests whether text denotes a Java keyword, a Java boolean literal or the Java {@code null} literal.
+     *
+     * @param text The text to test.
+     *
+     * @return {@code true}, if {@code text} denotes a Java keyword, a Java boolean literal or the Java {@code null}
+     * literal; {@code false}, if not.
+     */
+    static boolean isKeywordOrBooleanOrNullLiteral( final CharSequence text )
+    {
+        return findWord( text, 0, text.length() ) >= 0;
     }
 
 }
@@ -0,0 +1,177 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Signals an error parsing text of the Java language.
+ * <p>
+ * The exception holds the code of the error, the text parsed and the word or character the error occurred at. The
+ * message of the exception is formatted when requested, so that handling the exception without querying its message
+ * does not format any message. The error offset of the exception is an index of the text parsed, that is relative to
+ * the first character of a range of characters parsed.
+ * </p>
+ * <p>
+ * Setting the {@code org.jomc.jls.exceptions.writableStackTrace} system property to {@code false} disables filling
+ * in the stack trace of the exception and of any {@code JavaIllegalArgumentException} wrapping it.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see JavaIllegalArgumentException
+ */
+public final class JavaParseException extends ParseException
+{
+
+    /**
+     * Flag indicating stack traces are filled in.
+     */
+    static final boolean WRITABLE_STACK_TRACE =
+        Boolean.parseBoolean( System.getProperty( "org.jomc.jls.exceptions.writableStackTrace", "true" ) );
+
+    /**
+     * The code of the error.
+     */
+    private final ParseErrorCode errorCode;
+
+    /**
+     * The text parsed.
+     */
+    private final String input;
+
+    /**
+     * The word or character the error occurred at.
+     */
+    private final String token;
+
+    /**
+     * The class whose resource bundle holds the message of the error.
+     */
+    private final Class<?> messageClass;
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = 3954456030986362847L;
+
+    /**
+     * Creates a new {@code JavaParseException} instance.
+     *
+     * @param errorCode The code of the error.
+     * @param input The text parsed.
+     * @param token The word or character the error occurred at or {@code null}.
+     * @param errorOffset The index of the error in {@code input}.
+     * @param messageClass The class whose resource bundle holds the message of the error.
+     */
+    JavaParseException( final ParseErrorCode errorCode, final String input, final String token,
+                        final int errorOffset, final Class<?> messageClass )
+    {
+        super( null, errorOffset );
+        this.errorCode = Objects.requireNonNull( errorCode, "errorCode" );
+        this.input = Objects.requireNonNull( input, "input" );
+        this.token = token;
+        this.messageClass = Objects.requireNonNull( messageClass, "messageClass" );
+    }
+
+    /**
+     * Gets the code of the error.
+     *
+     * @return The code of the error.
+     */
+    public ParseErrorCode getErrorCode()
+    {
+        return this.errorCode;
+    }
+
+    /**
+     * Gets the text parsed.
+     *
+     * @return The text parsed, which is the range of characters parsed, if a range of characters has been parsed.
+     */
+    public String getInput()
+    {
+        return this.input;
+    }
+
+    /**
+     * Gets the word or character the error occurred at.
+     *
+     * @return The word or character the error occurred at or no value, if the error did not occur at a word or
+     * character.
+     */
+    public Optional<String> getToken()
+    {
+        return Optional.ofNullable( this.token );
+    }
+
+    /**
+     * Gets the message of the exception for the default locale.
+     *
+     * @return The message of the exception for the default locale.
+     */
+    @Override
+    public String getMessage()
+    {
+        return this.getMessage( Locale.getDefault() );
+    }
+
+    /**
+     * Gets the message of the exception for a given locale.
+     *
+     * @param locale The locale of the message.
+     *
+     * @return The message of the exception for {@code locale}.
+     *
+     * @throws NullPointerException if {@code locale} is {@code null}.
+     */
+    public String getMessage( final Locale locale )
+    {
+        return Messages.format( this.messageClass, this.errorCode.getKey(), Objects.requireNonNull( locale, "locale" ),
+                                this.input, this.token, this.getErrorOffset() );
+
+    }
+
+    /**
+     * Fills in the stack trace of the exception unless disabled.
+     *
+     * @return This exception.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace()
+    {
+        return WRITABLE_STACK_TRACE ? super.fillInStackTrace() : this;
+    }
+
+}
@@ -30,26 +30,22 @@
  */
 package org.jomc.jls;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.lang.ref.Reference;
-import java.lang.ref.SoftReference;
-import java.text.MessageFormat;
-import java.text.ParseException;
+import java.nio.ByteBuffer;
 import java.text.ParsePosition;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.ResourceBundle;
-import java.util.Set;
-import java.util.function.BiFunction;
-import java.util.stream.Stream;
+import org.jomc.jls.spi.Cache;
+import org.jomc.jls.spi.CacheKey;
 
 /**
  * Data type of a Java type name.
@@ -57,6 +53,11 @@ import java.util.stream.Stream;
  * This class supports parsing of Java type names as specified in the
  * Java Language Specification - Java SE 7 Edition - Chapters 3.8ff, 6.5 and 18.
  * </p>
+ * <p>
+ * Instances are canonical. As long as an instance is reachable, parsing or deserializing text denoting an equal type
+ * name yields that same instance, so that instances can be compared using the {@code ==} operator. This does not
+ * apply to the type names of the arguments of a parameterized type name.
+ * </p>
  *
  * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
  * @version $JOMC$
@@ -162,12 +163,13 @@ public final class JavaTypeName implements Serializable
 
                     if ( this.wildcardBounds != null && this.typeName != null )
                     {
-                        builder.append( " " ).append( this.wildcardBounds ).append( " " ).append( this.typeName );
+                        builder.append( " " ).append( this.wildcardBounds ).append( " " );
+                        this.typeName.appendTo( builder );
                     }
                 }
                 else
                 {
-                    builder.append( this.typeName );
+                    this.typeName.appendTo( builder );
                 }
 
                 this.cachedString = builder.toString();
@@ -347,7 +349,28 @@ public final class JavaTypeName implements Serializable
     /**
      * Cached instances.
      */
-    private static volatile Reference<Map<String, JavaTypeName>> cache;
+    private static final Cache<CacheKey, JavaTypeName> CACHE =
+        Caches.createCache( JavaTypeName.class.getName() );
+
+    /**
+     * Cached parse failures.
+     */
+    private static final Cache<CacheKey, ParseResult<JavaTypeName>> FAILURES = Caches.createFailureCache();
+
+    /**
+     * Statistics of the cache.
+     */
+    private static final CacheMonitor MONITOR = new CacheMonitor( JavaTypeName.class.getName(), CACHE );
+
+    /**
+     * Canonical instances.
+     */
+    private static final Cache<String, JavaTypeName> INSTANCES = new ReferenceCache<>( false );
+
+    /**
+     * Parses in flight.
+     */
+    private static final SingleFlight<CacheKey, ParseResult<JavaTypeName>> PARSES = new SingleFlight<>();
 
     /**
      * Mappings of basic type name to class name encoding.
@@ -705,32 +728,94 @@ public final class JavaTypeName implements Serializable
     {
         if ( this.cachedString == null )
         {
-            final StringBuilder builder = new StringBuilder( this.getQualifiedName() );
+            final StringBuilder builder = new StringBuilder( this.getQualifiedName().length() + 64 );
+            this.appendTo( builder );
+            this.cachedString = builder.toString();
+        }
 
-            if ( !this.getArguments().isEmpty() )
-            {
-                builder.append( "<" );
+        return this.cachedString;
+    }
+
+    /**
+     * Appends the string representation of the instance to a given builder.
+     * <p>
+     * Type names of arguments are appended using an explicit stack instead of recursion, so that the nesting depth of
+     * type arguments is not limited by the size of the stack of the calling thread. String representations of type
+     * names of arguments are not cached.
+     * </p>
+     *
+     * @param builder The builder to append the string representation of the instance to.
+     */
+    private void appendTo( final StringBuilder builder )
+    {
+        final ArrayDeque<JavaTypeName> types = new ArrayDeque<>();
+        final ArrayDeque<Iterator<Argument>> arguments = new ArrayDeque<>();
+        JavaTypeName type = this;
 
-                for ( int i = 0, s0 = this.getArguments().size(); i < s0; i++ )
+        do
+        {
+            if ( type != null )
+            {
+                if ( type.cachedString != null )
+                {
+                    builder.append( type.cachedString );
+                }
+                else if ( type.getArguments().isEmpty() )
+                {
+                    builder.append( type.getQualifiedName() );
+                }
+                else
                 {
-                    builder.append( this.getArguments().get( i ) ).append( ", " );
+                    // Array dimensions follow the type arguments.
+                    builder.append( type.getQualifiedName(), 0,
+                                    type.getQualifiedName().length() - type.dimension * "[]".length() );
+
+                    builder.append( '<' );
+                    types.push( type );
+                    arguments.push( type.getArguments().iterator() );
                 }
 
-                builder.setLength( builder.length() - 2 );
-                builder.append( ">" );
+                type = null;
             }
-
-            if ( this.isArray() )
+            else if ( arguments.peek().hasNext() )
             {
-                final int idx = this.getQualifiedName().length() - this.dimension * "[]".length();
-                builder.append( builder.substring( idx, this.getQualifiedName().length() ) );
-                builder.delete( idx, this.getQualifiedName().length() );
+                final Argument argument = arguments.peek().next();
+
+                if ( builder.charAt( builder.length() - 1 ) != '<' )
+                {
+                    builder.append( ", " );
+                }
+
+                if ( argument.cachedString != null )
+                {
+                    builder.append( argument.cachedString );
+                }
+                else if ( argument.wildcard )
+                {
+                    builder.append( '?' );
+
+                    if ( argument.wildcardBounds != null && argument.typeName != null )
+                    {
+                        builder.append( ' ' ).append( argument.wildcardBounds ).append( ' ' );
+                        type = argument.typeName;
+                    }
+                }
+                else
+                {
+                    type = argument.typeName;
+                }
             }
+            else
+            {
+                arguments.pop();
+                final JavaTypeName t = types.pop();
+                builder.append( '>' );
+                builder.append( t.getQualifiedName(), t.getQualifiedName().length() - t.dimension * "[]".length(),
+                                t.getQualifiedName().length() );
 
-            this.cachedString = builder.toString();
+            }
         }
-
-        return this.cachedString;
+        while ( type != null || !arguments.isEmpty() );
     }
 
     /**
@@ -792,13 +877,165 @@ public final class JavaTypeName implements Serializable
      * @return A {@code JavaTypeName} instance corresponding to {@code text}.
      *
      * @throws NullPointerException if {@code text} is {@code null}.
-     * @throws ParseException if parsing fails.
+     * @throws JavaParseException if parsing fails.
      *
      * @see #valueOf(java.lang.String)
      */
-    public static JavaTypeName parse( final String text ) throws ParseException
+    public static JavaTypeName parse( final String text ) throws JavaParseException
+    {
+        return parse( text, 0, Objects.requireNonNull( text, "text" ).length() );
+    }
+
+    /**
+     * Parses a range of characters of a given character sequence to produce a {@code JavaTypeName} instance.
+     * <p>
+     * No string is created for the range of characters, if a {@code JavaTypeName} instance for an equal range of
+     * characters is cached.
+     * </p>
+     *
+     * @param text The character sequence holding the characters to parse.
+     * @param start The index of the first character to parse, inclusive.
+     * @param end The index of the last character to parse, exclusive.
+     *
+     * @return A {@code JavaTypeName} instance corresponding to the characters of {@code text} from {@code start} to
+     * {@code end - 1}.
+     *
+     * @throws NullPointerException if {@code text} is {@code null}.
+     * @throws IndexOutOfBoundsException if {@code start} or {@code end} are negative, if {@code end} is greater than
+     * the length of {@code text}, or if {@code start} is greater than {@code end}.
+     * @throws JavaParseException if parsing fails. The error offset of the exception is relative to {@code start}.
+     *
+     * @see #parse(java.lang.String)
+     */
+    public static JavaTypeName parse( final CharSequence text, final int start, final int end )
+        throws JavaParseException
+    {
+        Objects.checkFromToIndex( start, end, Objects.requireNonNull( text, "text" ).length() );
+        final long time = MONITOR.start();
+        final CacheKey key = CacheKey.probe( text, start, end, null );
+        final JavaTypeName javaType = CACHE.get( key );
+
+        if ( javaType != null )
+        {
+            MONITOR.hit( time );
+            return javaType;
+        }
+
+        return parseUncached( key, time ).get();
+    }
+
+    /**
+     * Parses the longest type name starting at a given position of a character sequence.
+     * <p>
+     * Like the {@code parseObject} method of class {@code java.text.Format}, this method does not throw an exception
+     * if parsing fails. Whitespace preceding the type name is skipped. On success, the index of {@code pos} is updated
+     * to the index after the last character of the type name, so that any characters following the type name are left
+     * unparsed. On failure, the index of {@code pos} is not changed and the error index of {@code pos} is set to the
+     * index at which a type name was expected. Unlike the error offsets of {@code JavaParseException}s, the error
+     * index of {@code pos} is an index of {@code text}, not relative to the index parsing started at.
+     * </p>
+     *
+     * @param text The character sequence holding the characters to parse.
+     * @param pos The position to start parsing at.
+     *
+     * @return A {@code JavaTypeName} instance corresponding to the longest type name of {@code text} starting at the
+     * index of {@code pos} or {@code null}, if no type name starts at that index.
+     *
+     * @throws NullPointerException if {@code text} or {@code pos} is {@code null}.
+     *
+     * @see #parse(java.lang.CharSequence, int, int)
+     */
+    public static JavaTypeName parse( final CharSequence text, final ParsePosition pos )
+    {
+        Objects.requireNonNull( text, "text" );
+        final int start = Objects.requireNonNull( pos, "pos" ).getIndex();
+
+        if ( start < 0 || start > text.length() )
+        {
+            pos.setErrorIndex( start );
+            return null;
+        }
+
+        final long time = MONITOR.start();
+        final Tokenizer tokenizer = new Tokenizer( text, start );
+        JavaTypeName javaType = new JavaTypeName();
+
+        // The parser stops at the end of the longest type name, so that the characters are read once.
+        if ( !parseType( tokenizer, javaType ) )
+        {
+            pos.setErrorIndex( tokenizer.errorIndex() );
+            return null;
+        }
+
+        final int end = tokenizer.length();
+        final CacheKey key = CacheKey.probe( text, start, end, null );
+        final JavaTypeName cachedType = CACHE.get( key );
+        pos.setIndex( end );
+
+        if ( cachedType != null )
+        {
+            MONITOR.hit( time );
+            return cachedType;
+        }
+
+        final CacheKey stableKey = key.toStableKey();
+        javaType = cache( stableKey, javaType );
+        MONITOR.miss( time, stableKey.length() );
+        return javaType;
+    }
+
+    /**
+     * Parses a range of UTF-8 encoded bytes of a given array to produce a {@code JavaTypeName} instance.
+     *
+     * @param bytes The array holding the bytes to parse.
+     * @param offset The index of the first byte to parse.
+     * @param length The number of bytes to parse.
+     *
+     * @return A {@code JavaTypeName} instance corresponding to the characters encoded by the bytes of {@code bytes}
+     * from {@code offset} to {@code offset + length - 1}.
+     *
+     * @throws NullPointerException if {@code bytes} is {@code null}.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are negative, or if
+     * {@code offset + length} is greater than the length of {@code bytes}.
+     * @throws JavaParseException if parsing fails.
+     *
+     * @see #parse(java.nio.ByteBuffer, int, int)
+     */
+    public static JavaTypeName parse( final byte[] bytes, final int offset, final int length ) throws JavaParseException
+    {
+        return parse( ByteBuffer.wrap( Objects.requireNonNull( bytes, "bytes" ) ), offset, length );
+    }
+
+    /**
+     * Parses a range of UTF-8 encoded bytes of a given buffer to produce a {@code JavaTypeName} instance.
+     * <p>
+     * Both UTF-8 and the modified UTF-8 of class files are accepted. Bytes in the ASCII range are looked up in the
+     * cache without decoding them. Other bytes are decoded before parsing. The position and limit of {@code buffer}
+     * are not changed.
+     * </p>
+     *
+     * @param buffer The buffer holding the bytes to parse.
+     * @param offset The absolute index of the first byte to parse.
+     * @param length The number of bytes to parse.
+     *
+     * @return A {@code JavaTypeName} instance corresponding to the characters encoded by the bytes of {@code buffer}
+     * from {@code offset} to {@code offset + length - 1}.
+     *
+     * @throws NullPointerException if {@code buffer} is {@code null}.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are negative, or if
+     * {@code offset + length} is greater than the limit of {@code buffer}.
+     * @throws JavaParseException if parsing fails. The error offset of the exception is the index of the invalid
+     * character in the decoded characters, which equals the index of the invalid byte relative to {@code offset} for
+     * ASCII bytes.
+     *
+     * @see #parse(java.lang.CharSequence, int, int)
+     */
+    public static JavaTypeName parse( final ByteBuffer buffer, final int offset, final int length )
+        throws JavaParseException
     {
-        return parse( Objects.requireNonNull( text, "text" ), false );
+        Objects.checkFromIndexSize( offset, length, Objects.requireNonNull( buffer, "buffer" ).limit() );
+        final CharSequence text = Utf8Sequence.of( buffer, offset, length );
+        return parse( text, 0, text.length() );
     }
 
     /**
@@ -813,62 +1050,224 @@ public final class JavaTypeName implements Serializable
      * @return A {@code JavaTypeName} instance corresponding to {@code text}.
      *
      * @throws NullPointerException if {@code text} is {@code null}.
-     * @throws IllegalArgumentException if parsing fails.
+     * @throws JavaIllegalArgumentException if parsing fails.
      *
      * @see #parse(java.lang.String)
      */
-    public static JavaTypeName valueOf( final String text ) throws IllegalArgumentException
+    public static JavaTypeName valueOf( final String text ) throws JavaIllegalArgumentException
     {
         try
         {
-            return parse( Objects.requireNonNull( text, "text" ), true );
+            return parse( text );
         }
-        catch ( final ParseException e )
+        catch ( final JavaParseException e )
+        {
+            throw new JavaIllegalArgumentException( e );
+        }
+    }
+
+    /**
+     * Parses text to produce a {@code JavaTypeName} instance without throwing an exception if parsing fails.
+     *
+     * @param text The text to parse.
+     *
+     * @return The outcome of parsing {@code text}.
+     *
+     * @throws NullPointerException if {@code text} is {@code null}.
+     *
+     * @see #parse(java.lang.String)
+     */
+    public static ParseResult<JavaTypeName> tryParse( final CharSequence text )
+    {
+        final long time = MONITOR.start();
+        final CacheKey key = CacheKey.probe( Objects.requireNonNull( text, "text" ), 0, text.length(), null );
+        final JavaTypeName javaType = CACHE.get( key );
+
+        if ( javaType != null )
         {
-            throw new AssertionError( e );
+            MONITOR.hit( time );
+            return new ParseResult<>( javaType );
         }
+
+        return parseUncached( key, time );
     }
 
-    private static JavaTypeName parse( final String text, final boolean runtimeException ) throws ParseException
+    /**
+     * Tests whether text denotes a valid Java type name.
+     * <p>
+     * Unlike the {@link #parse(String)} and {@link #tryParse(CharSequence)} methods, this method does not cache the
+     * outcome of parsing {@code text}.
+     * </p>
+     *
+     * @param text The text to test.
+     *
+     * @return {@code true}, if {@code text} denotes a valid Java type name; {@code false}, else.
+     *
+     * @throws NullPointerException if {@code text} is {@code null}.
+     */
+    public static boolean isValid( final CharSequence text )
     {
-        Map<String, JavaTypeName> map = cache == null ? null : cache.get();
+        final CacheKey key = CacheKey.probe( Objects.requireNonNull( text, "text" ), 0, text.length(), null );
 
-        if ( map == null )
+        if ( CACHE.get( key ) != null )
         {
-            map = new HashMap<>( 128 );
-            cache = new SoftReference<>( map );
+            return true;
         }
 
-        synchronized ( map )
+        if ( FAILURES.get( key ) != null )
+        {
+            return false;
+        }
+
+        final String string = key.toString();
+
+        // Names without type arguments, whitespace or non-ASCII characters need not be tokenized.
+        return NameCharacters.scan( string, 0, string.length() ) == string.length()
+                   ? isValidName( string )
+                   : parseType( new Tokenizer( string ), new JavaTypeName() );
+
+    }
+
+    /**
+     * Tests whether a string consisting of ASCII letters, ASCII digits, underscores, dollar signs and periods only
+     * denotes a valid Java type name.
+     *
+     * @param text The string to test.
+     *
+     * @return {@code true}, if {@code text} denotes a valid Java type name; {@code false}, else.
+     */
+    private static boolean isValidName( final String text )
+    {
+        final int end = text.length();
+
+        for ( int start = 0, wordEnd; start <= end; start = wordEnd + 1 )
         {
-            JavaTypeName javaType = map.get( text );
+            wordEnd = text.indexOf( '.', start );
 
-            if ( javaType == null )
+            if ( wordEnd < 0 )
             {
-                javaType = new JavaTypeName();
-                parseType( javaType, text, runtimeException );
+                wordEnd = end;
+            }
 
-                javaType.arguments = javaType.arguments != null
-                                         ? Collections.unmodifiableList( javaType.arguments )
-                                         : Collections.<Argument>emptyList();
+            if ( wordEnd == start || !JavaCharacters.isAsciiIdentifierStart( text.charAt( start ) ) )
+            {
+                return false;
+            }
 
-                final String name = javaType.getName( true );
-                final JavaTypeName existingInstance = map.get( name );
+            final int word = JavaLanguage.findWord( text, start, wordEnd );
+
+            if ( word >= 0 )
+            {
+                return start == 0 && wordEnd == end
+                           && JavaLanguage.getWordKind( word ) == JavaLanguage.WORD_BASIC_TYPE
+                           && CLASSNAME_ENCODINGS.containsKey( JavaLanguage.getWord( word ) );
 
-                if ( existingInstance != null )
-                {
-                    map.put( text, existingInstance );
-                    javaType = existingInstance;
-                }
-                else
-                {
-                    map.put( text, javaType );
-                    map.put( name, javaType );
-                }
             }
+        }
 
-            return javaType;
+        return true;
+    }
+
+    /**
+     * Gets a snapshot of the statistics of the cache of parsed instances.
+     *
+     * @return A snapshot of the statistics of the cache of parsed instances.
+     *
+     * @see CacheStatisticsMXBean
+     */
+    public static CacheStatistics getCacheStatistics()
+    {
+        return MONITOR.snapshot();
+    }
+
+    private static ParseResult<JavaTypeName> parseUncached( final CacheKey probe, final long time )
+    {
+        final ParseResult<JavaTypeName> failure = FAILURES.get( probe );
+
+        if ( failure != null )
+        {
+            MONITOR.hit( time );
+            return failure;
+        }
+
+        // Keys of entries and flights must not refer to the possibly mutable character sequence of the probe.
+        final CacheKey key = probe.toStableKey();
+
+        try
+        {
+            return PARSES.parse( key, ()  -> parseAndCache( key ) );
+        }
+        finally
+        {
+            MONITOR.miss( time, key.length() );
+        }
+    }
+
+    private static ParseResult<JavaTypeName> parseAndCache( final CacheKey key )
+    {
+        // Parses in flight of the same text may have completed since the cache got queried.
+        JavaTypeName javaType = CACHE.get( key );
+
+        if ( javaType == null )
+        {
+            final String text = key.toString();
+            javaType = new JavaTypeName();
+            final ParseResult<JavaTypeName> failure = parseType( javaType, text );
+
+            if ( failure != null )
+            {
+                FAILURES.putIfAbsent( key, failure );
+                return failure;
+            }
+
+            javaType = cache( key, javaType );
+        }
+
+        return new ParseResult<>( javaType );
+    }
+
+    private static JavaTypeName cache( final CacheKey key, final JavaTypeName javaType )
+    {
+        final JavaTypeName canonicalType = javaType.canonicalize();
+
+        // Text and the name of the parsed type share the canonical instance.
+        CACHE.putIfAbsent( CacheKey.of( canonicalType.getName( true ), null ), canonicalType );
+        CACHE.putIfAbsent( key, canonicalType );
+        return canonicalType;
+    }
+
+    /**
+     * Gets the canonical instance of the type name of the instance.
+     *
+     * @return The canonical instance equal to the instance.
+     */
+    private JavaTypeName canonicalize()
+    {
+        final JavaTypeName canonicalInstance = INSTANCES.putIfAbsent( this.toString(), this );
+        return canonicalInstance != null ? canonicalInstance : this;
+    }
+
+    /**
+     * Resolves a deserialized instance to its canonical instance.
+     *
+     * @return The canonical instance equal to the deserialized instance.
+     *
+     * @throws ObjectStreamException if the deserialized instance holds no qualified name.
+     */
+    private Object readResolve() throws ObjectStreamException
+    {
+        if ( this.qualifiedName == null )
+        {
+            throw new InvalidObjectException( "qualifiedName" );
         }
+
+        return this.canonicalize();
+    }
+
+    private static ParseResult<JavaTypeName> parseType( final JavaTypeName t, final String text )
+    {
+        final Tokenizer tokenizer = new Tokenizer( text );
+        return parseType( tokenizer, t ) ? null : tokenizer.failure();
     }
 
     /**
@@ -879,16 +1278,15 @@ public final class JavaTypeName implements Serializable
      *     ReferenceType  {[]}
      * </pre>
      *
-     * @see #parseReferenceType(org.jomc.jls.JavaTypeName.Tokenizer, org.jomc.jls.JavaTypeName, boolean, boolean)
+     * @see #parseReferenceType(org.jomc.jls.JavaTypeName.Tokenizer, org.jomc.jls.JavaTypeName)
      */
-    private static void parseType( final JavaTypeName t, final String text, final boolean runtimeException )
-        throws ParseException
+    private static boolean parseType( final Tokenizer tokenizer, final JavaTypeName t )
     {
-        final Tokenizer tokenizer = new Tokenizer( text, runtimeException );
         boolean basic_type_or_reference_type_seen = false;
         boolean lpar_seen = false;
         Token token;
 
+        tokens:
         while ( ( token = tokenizer.next() ) != null )
         {
             switch ( token.getKind() )
@@ -896,14 +1294,7 @@ public final class JavaTypeName implements Serializable
                 case Tokenizer.TK_BASIC_TYPE:
                     if ( basic_type_or_reference_type_seen || !CLASSNAME_ENCODINGS.containsKey( token.getValue() ) )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
+                        break tokens;
                     }
                     basic_type_or_reference_type_seen = true;
                     t.className = token.getValue();
@@ -911,36 +1302,26 @@ public final class JavaTypeName implements Serializable
                     t.simpleName = token.getValue();
                     t.packageName = "";
                     t.primitive = true;
+                    tokenizer.accept();
                     break;
 
                 case Tokenizer.TK_IDENTIFIER:
                     if ( basic_type_or_reference_type_seen )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
+                        break tokens;
                     }
                     basic_type_or_reference_type_seen = true;
                     tokenizer.back();
-                    parseReferenceType( tokenizer, t, false, runtimeException );
+                    if ( !parseReferenceType( tokenizer, t ) )
+                    {
+                        return false;
+                    }
                     break;
 
                 case Tokenizer.TK_LPAR:
                     if ( !basic_type_or_reference_type_seen || lpar_seen )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
+                        break tokens;
                     }
                     lpar_seen = true;
                     break;
@@ -948,66 +1329,61 @@ public final class JavaTypeName implements Serializable
                 case Tokenizer.TK_RPAR:
                     if ( !( basic_type_or_reference_type_seen && lpar_seen ) )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
+                        break tokens;
                     }
                     lpar_seen = false;
                     t.dimension++;
-                    t.className = "[" + t.className;
-                    t.qualifiedName += "[]";
-                    t.simpleName += "[]";
+                    tokenizer.accept();
                     break;
 
                 default:
-                    if ( runtimeException )
-                    {
-                        throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                    }
-                    else
-                    {
-                        throw createInvalidTokenParseException( tokenizer.input(), token );
-                    }
+                    break tokens;
 
             }
         }
 
-        if ( !basic_type_or_reference_type_seen || lpar_seen )
+        if ( tokenizer.failure() != null )
         {
-            if ( runtimeException )
-            {
-                throw createUnexpectedEndOfInputIllegalArgumentException( tokenizer.input(), tokenizer.length() );
-            }
-            else
-            {
-                throw createUnexpectedEndOfInputParseException( tokenizer.input(), tokenizer.length() );
-            }
+            return false;
+        }
+
+        if ( ( token != null || !basic_type_or_reference_type_seen || lpar_seen ) && !tokenizer.stop() )
+        {
+            return token != null ? tokenizer.invalidToken( token ) : tokenizer.unexpectedEndOfInput();
         }
 
         if ( t.dimension > 0 )
         {
-            if ( t.primitive )
+            final StringBuilder classNameBuilder = new StringBuilder( t.className.length() + t.dimension + 2 );
+            final StringBuilder dimensionBuilder = new StringBuilder( t.dimension * "[]".length() );
+
+            for ( int i = t.dimension; i > 0; i-- )
             {
-                t.className = new StringBuilder( t.className.length() ).
-                    append( t.className.substring( 0, t.dimension ) ).
-                    append( CLASSNAME_ENCODINGS.get( t.className.substring( t.dimension ) ) ).toString();
+                classNameBuilder.append( '[' );
+                dimensionBuilder.append( "[]" );
+            }
 
+            if ( t.primitive )
+            {
+                classNameBuilder.append( CLASSNAME_ENCODINGS.get( t.className ) );
             }
             else
             {
-                t.className = new StringBuilder( t.className.length() ).
-                    append( t.className.substring( 0, t.dimension ) ).
-                    append( "L" ).append( t.className.substring( t.dimension ) ).append( ";" ).toString();
-
+                classNameBuilder.append( 'L' ).append( t.className ).append( ';' );
             }
+
+            t.className = classNameBuilder.toString();
+            t.qualifiedName += dimensionBuilder;
+            t.simpleName += dimensionBuilder;
+        }
+
+        if ( t.primitive )
+        {
+            // Arguments of reference types are set when parsing reference types.
+            t.arguments = Collections.unmodifiableList( t.getArguments() );
         }
 
-        t.arguments = Collections.unmodifiableList( t.getArguments() );
+        return true;
     }
 
     /**
@@ -1015,445 +1391,286 @@ public final class JavaTypeName implements Serializable
      * <pre>
      * ReferenceType:
      *      Identifier [TypeArguments] { . Identifier [TypeArguments] }
-     * </pre>
      *
-     * @see #parseTypeArguments(org.jomc.jls.JavaTypeName.Tokenizer, org.jomc.jls.JavaTypeName, boolean)
+     * TypeArguments:
+     *      &lt; TypeArgument { , TypeArgument } &gt;
+     *
+     * TypeArgument:
+     *      ReferenceType
+     *      ? [ ( extends | super ) ReferenceType ]
+     * </pre>
+     * <p>
+     * Reference types of type arguments are parsed using an explicit stack instead of recursion, so that the nesting
+     * depth of type arguments is not limited by the size of the stack of the calling thread.
+     * </p>
      */
-    private static void parseReferenceType( final Tokenizer tokenizer, final JavaTypeName t,
-                                            final boolean in_type_arguments, final boolean runtimeException )
-        throws ParseException
+    private static boolean parseReferenceType( final Tokenizer tokenizer, final JavaTypeName t )
     {
-        final StringBuilder classNameBuilder = new StringBuilder( tokenizer.input().length() );
-        final StringBuilder typeNameBuilder = new StringBuilder( tokenizer.input().length() );
-        boolean identifier_seen = false;
-        boolean type_arguments_seen = false;
+        final ArrayDeque<ReferenceType> enclosingTypes = new ArrayDeque<>();
+        final ReferenceType referenceType = new ReferenceType( t );
+        ReferenceType r = referenceType;
         Token token;
 
+        tokens:
         while ( ( token = tokenizer.next() ) != null )
         {
-            switch ( token.getKind() )
+            switch ( r.state )
             {
-                case Tokenizer.TK_IDENTIFIER:
-                    if ( identifier_seen || type_arguments_seen )
+                case ReferenceType.IDENTIFIER_EXPECTED:
+                    if ( token.getKind() != Tokenizer.TK_IDENTIFIER )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
+                        break tokens;
                     }
-                    identifier_seen = true;
-                    type_arguments_seen = false;
-                    t.simpleName = token.getValue();
-                    t.packageName = typeNameBuilder.length() > 0
-                                        ? typeNameBuilder.substring( 0, typeNameBuilder.length() - 1 )
-                                        : "";
-
-                    classNameBuilder.append( token.getValue() );
-                    typeNameBuilder.append( token.getValue() );
-                    break;
-
-                case Tokenizer.TK_DOT:
-                    if ( !( identifier_seen || type_arguments_seen ) )
+                    r.identifier( token );
+                    if ( enclosingTypes.isEmpty() )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
+                        r.accept( tokenizer );
                     }
-                    identifier_seen = false;
-                    type_arguments_seen = false;
-                    classNameBuilder.append( token.getValue() );
-                    typeNameBuilder.append( token.getValue() );
                     break;
 
-                case Tokenizer.TK_LT:
-                    if ( !identifier_seen )
+                case ReferenceType.IDENTIFIER_SEEN:
+                case ReferenceType.TYPE_ARGUMENTS_SEEN:
+                    switch ( token.getKind() )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
-                    }
-                    identifier_seen = false;
-                    type_arguments_seen = true;
-                    tokenizer.back();
-                    parseTypeArguments( tokenizer, t, runtimeException );
-                    break;
+                        case Tokenizer.TK_DOT:
+                            r.state = ReferenceType.IDENTIFIER_EXPECTED;
+                            r.typeNameBuilder.append( '.' );
+                            break;
 
-                case Tokenizer.TK_LPAR:
-                    if ( !( identifier_seen || type_arguments_seen ) || in_type_arguments )
-                    {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
-                    }
-                    tokenizer.back();
-                    t.className = classNameBuilder.toString();
-                    t.qualifiedName = typeNameBuilder.toString();
-                    return;
+                        case Tokenizer.TK_LT:
+                            if ( r.state != ReferenceType.IDENTIFIER_SEEN )
+                            {
+                                break tokens;
+                            }
+                            r.state = ReferenceType.ARGUMENT_EXPECTED;
+                            break;
 
-                case Tokenizer.TK_COMMA:
-                case Tokenizer.TK_GT:
-                    if ( !( identifier_seen || type_arguments_seen ) || !in_type_arguments )
-                    {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
-                    }
-                    tokenizer.back();
-                    t.className = classNameBuilder.toString();
-                    t.qualifiedName = typeNameBuilder.toString();
-                    return;
+                        case Tokenizer.TK_LPAR:
+                            if ( !enclosingTypes.isEmpty() )
+                            {
+                                break tokens;
+                            }
+                            tokenizer.back();
+                            r.end();
+                            return true;
 
-                default:
-                    if ( runtimeException )
-                    {
-                        throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                    }
-                    else
-                    {
-                        throw createInvalidTokenParseException( tokenizer.input(), token );
-                    }
+                        case Tokenizer.TK_COMMA:
+                        case Tokenizer.TK_GT:
+                            if ( enclosingTypes.isEmpty() )
+                            {
+                                break tokens;
+                            }
+                            tokenizer.back();
+                            r.end();
+                            r = enclosingTypes.pop();
+                            r.state = ReferenceType.ARGUMENT_SEEN;
+                            break;
 
-            }
-        }
+                        default:
+                            break tokens;
 
-        if ( !( identifier_seen || type_arguments_seen ) )
-        {
-            if ( runtimeException )
-            {
-                throw createUnexpectedEndOfInputIllegalArgumentException( tokenizer.input(), tokenizer.length() );
-            }
-            else
-            {
-                throw createUnexpectedEndOfInputParseException( tokenizer.input(), tokenizer.length() );
-            }
-        }
+                    }
+                    break;
 
-        t.className = classNameBuilder.toString();
-        t.qualifiedName = typeNameBuilder.toString();
-    }
+                case ReferenceType.ARGUMENT_EXPECTED:
+                    switch ( token.getKind() )
+                    {
+                        case Tokenizer.TK_IDENTIFIER:
+                            enclosingTypes.push( r );
+                            r = new ReferenceType( r.argument( false ) );
+                            r.identifier( token );
+                            break;
 
-    /**
-     * JLS - Java SE 7 Edition - Chapter 18. Syntax
-     * <pre>
-     * TypeArguments:
-     *      &lt; TypeArgument { , TypeArgument } &gt;
-     * </pre>
-     *
-     * @see #parseTypeArgument(org.jomc.jls.JavaTypeName.Tokenizer, org.jomc.jls.JavaTypeName, boolean)
-     */
-    private static void parseTypeArguments( final Tokenizer tokenizer, final JavaTypeName t,
-                                            final boolean runtimeException )
-        throws ParseException
-    {
-        boolean lt_seen = false;
-        boolean argument_seen = false;
-        Token token;
+                        case Tokenizer.TK_QM:
+                            r.argument( true );
+                            r.state = ReferenceType.WILDCARD_SEEN;
+                            break;
+
+                        default:
+                            break tokens;
 
-        while ( ( token = tokenizer.next() ) != null )
-        {
-            switch ( token.getKind() )
-            {
-                case Tokenizer.TK_LT:
-                    if ( lt_seen || argument_seen )
-                    {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
                     }
-                    lt_seen = true;
-                    argument_seen = false;
                     break;
 
-                case Tokenizer.TK_GT:
-                    if ( !argument_seen )
+                case ReferenceType.ARGUMENT_SEEN:
+                    switch ( token.getKind() )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
-                    }
-                    return;
+                        case Tokenizer.TK_COMMA:
+                            r.state = ReferenceType.ARGUMENT_EXPECTED;
+                            break;
+
+                        case Tokenizer.TK_GT:
+                            r.state = ReferenceType.TYPE_ARGUMENTS_SEEN;
+                            if ( enclosingTypes.isEmpty() )
+                            {
+                                r.accept( tokenizer );
+                            }
+                            break;
+
+                        default:
+                            break tokens;
 
-                case Tokenizer.TK_COMMA:
-                    if ( !argument_seen )
-                    {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
                     }
-                    argument_seen = false;
                     break;
 
-                case Tokenizer.TK_IDENTIFIER:
-                    if ( !lt_seen || argument_seen )
+                case ReferenceType.WILDCARD_SEEN:
+                    switch ( token.getKind() )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
+                        case Tokenizer.TK_KEYWORD:
+                            if ( !( "extends".equals( token.getValue() ) || "super".equals( token.getValue() ) ) )
+                            {
+                                break tokens;
+                            }
+                            r.argument.wildcardBounds = token.getValue();
+                            r.state = ReferenceType.WILDCARD_BOUNDS_SEEN;
+                            break;
+
+                        case Tokenizer.TK_COMMA:
+                        case Tokenizer.TK_GT:
+                            tokenizer.back();
+                            r.state = ReferenceType.ARGUMENT_SEEN;
+                            break;
+
+                        default:
+                            break tokens;
+
                     }
-                    argument_seen = true;
-                    tokenizer.back();
-                    parseTypeArgument( tokenizer, t, runtimeException );
                     break;
 
-                case Tokenizer.TK_QM:
-                    if ( !lt_seen || argument_seen )
+                case ReferenceType.WILDCARD_BOUNDS_SEEN:
+                    if ( token.getKind() != Tokenizer.TK_IDENTIFIER )
                     {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
+                        break tokens;
                     }
-                    argument_seen = true;
-                    tokenizer.back();
-                    parseTypeArgument( tokenizer, t, runtimeException );
+                    enclosingTypes.push( r );
+                    r.argument.typeName = new JavaTypeName();
+                    r = new ReferenceType( r.argument.typeName );
+                    r.identifier( token );
                     break;
 
                 default:
-                    if ( runtimeException )
-                    {
-                        throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                    }
-                    else
-                    {
-                        throw createInvalidTokenParseException( tokenizer.input(), token );
-                    }
+                    throw new AssertionError( r.state );
 
             }
         }
 
-        if ( runtimeException )
-        {
-            throw createUnexpectedEndOfInputIllegalArgumentException( tokenizer.input(), tokenizer.length() );
-        }
-        else
+        if ( token != null || !enclosingTypes.isEmpty()
+                 || !( r.state == ReferenceType.IDENTIFIER_SEEN || r.state == ReferenceType.TYPE_ARGUMENTS_SEEN ) )
         {
-            throw createUnexpectedEndOfInputParseException( tokenizer.input(), tokenizer.length() );
+            if ( !tokenizer.stop() )
+            {
+                return token != null ? tokenizer.invalidToken( token ) : tokenizer.unexpectedEndOfInput();
+            }
+
+            // Tokens following the longest type name accepted got parsed in prefix mode.
+            r = referenceType;
+            r.reset();
         }
+
+        r.end();
+        return true;
+    }
+
+    private static void setReferenceTypeNames( final JavaTypeName t, final String name, final int simpleNameIndex )
+    {
+        t.className = name;
+        t.qualifiedName = name;
+        t.simpleName = name.substring( simpleNameIndex );
+        t.packageName = simpleNameIndex > 0 ? name.substring( 0, simpleNameIndex - 1 ) : "";
+    }
+
+    private static ParseResult<JavaTypeName> createInvalidTokenResult( final Token token )
+    {
+        return new ParseResult<>( Character.codePointCount( token.input, token.getPosition(), token.getEnd() ) > 1
+                                      ? ParseErrorCode.INVALID_WORD
+                                      : ParseErrorCode.INVALID_CHARACTER,
+                                  token.input.toString(), token.getValue(), token.getPosition(), JavaTypeName.class );
+
     }
 
     /**
-     * <dl><dt>JLS - Java SE 7 Edition - Chapter 18. Syntax</dt>
-     * <dd><pre>
-     * TypeArgument:
-     *      ReferenceType
-     *      ? [ ( extends | super ) ReferenceType ]
-     * </pre></dd>
-     * <dt>JLS - Java SE 7 Edition - Chapter 4.5.1. Type Arguments and Wildcards</dt>
-     * <dd><pre>
-     * TypeArgument:
-     *      ReferenceType
-     *      Wildcard
-     *
-     * Wildcard:
-     *      ? WildcardBounds<i>opt</i>
-     *
-     * WildcardBounds:
-     *      extends ReferenceType
-     *      super ReferenceType
-     * </pre></dd></dl>
+     * Reference type being parsed.
      */
-    private static void parseTypeArgument( final Tokenizer tokenizer, final JavaTypeName t,
-                                           final boolean runtimeException )
-        throws ParseException
+    private static final class ReferenceType
     {
-        boolean qm_seen = false;
-        boolean keyword_seen = false;
-        Token token;
 
-        final Argument argument = new Argument();
-        t.getArguments().add( argument );
+        private static final int IDENTIFIER_EXPECTED = 1;
 
-        while ( ( token = tokenizer.next() ) != null )
-        {
-            switch ( token.getKind() )
-            {
-                case Tokenizer.TK_IDENTIFIER:
-                    if ( qm_seen && !keyword_seen )
-                    {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
-                    }
-                    tokenizer.back();
-                    argument.typeName = new JavaTypeName();
-                    parseReferenceType( tokenizer, argument.typeName, true, runtimeException );
-                    return;
+        private static final int IDENTIFIER_SEEN = 2;
 
-                case Tokenizer.TK_QM:
-                    if ( qm_seen )
-                    {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
-                    }
-                    qm_seen = true;
-                    argument.wildcard = true;
-                    break;
+        private static final int TYPE_ARGUMENTS_SEEN = 3;
 
-                case Tokenizer.TK_KEYWORD:
-                    if ( !qm_seen || keyword_seen
-                             || !( "extends".equals( token.getValue() ) || "super".equals( token.getValue() ) ) )
-                    {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
-                    }
-                    keyword_seen = true;
-                    argument.wildcardBounds = token.getValue();
-                    break;
+        private static final int ARGUMENT_EXPECTED = 4;
 
-                case Tokenizer.TK_COMMA:
-                case Tokenizer.TK_GT:
-                    if ( !qm_seen || keyword_seen )
-                    {
-                        if ( runtimeException )
-                        {
-                            throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                        }
-                        else
-                        {
-                            throw createInvalidTokenParseException( tokenizer.input(), token );
-                        }
-                    }
-                    tokenizer.back();
-                    return;
+        private static final int ARGUMENT_SEEN = 5;
 
-                default:
-                    if ( runtimeException )
-                    {
-                        throw createInvalidTokenIllegalArgumentException( tokenizer.input(), token );
-                    }
-                    else
-                    {
-                        throw createInvalidTokenParseException( tokenizer.input(), token );
-                    }
+        private static final int WILDCARD_SEEN = 6;
 
-            }
-        }
+        private static final int WILDCARD_BOUNDS_SEEN = 7;
+
+        private final JavaTypeName t;
+
+        private final StringBuilder typeNameBuilder = new StringBuilder( 64 );
+
+        private int simpleNameIndex;
+
+        private int state = IDENTIFIER_EXPECTED;
+
+        private Argument argument;
+
+        private int acceptedLength;
+
+        private int acceptedSimpleNameIndex;
 
-        if ( runtimeException )
+        private int acceptedArguments;
+
+        private ReferenceType( final JavaTypeName t )
         {
-            throw createUnexpectedEndOfInputIllegalArgumentException( tokenizer.input(), tokenizer.length() );
+            super();
+            this.t = t;
         }
-        else
+
+        private void identifier( final Token token )
         {
-            throw createUnexpectedEndOfInputParseException( tokenizer.input(), tokenizer.length() );
+            this.state = IDENTIFIER_SEEN;
+            this.simpleNameIndex = this.typeNameBuilder.length();
+            token.appendTo( this.typeNameBuilder );
         }
-    }
 
-    private static ParseException createInvalidTokenParseException( final String input, final Token token )
-    {
-        if ( token.getValue().length() > 1 )
+        private void accept( final Tokenizer tokenizer )
         {
-            return new ParseException( getMessage( "invalidWord", input, token.getValue(),
-                                                   token.getPosition() ), token.getPosition() );
-
+            this.acceptedLength = this.typeNameBuilder.length();
+            this.acceptedSimpleNameIndex = this.simpleNameIndex;
+            this.acceptedArguments = this.t.getArguments().size();
+            tokenizer.accept();
         }
-        else
-        {
-            return new ParseException( getMessage( "invalidCharacter", input, token.getValue(),
-                                                   token.getPosition() ), token.getPosition() );
 
+        private void reset()
+        {
+            this.typeNameBuilder.setLength( this.acceptedLength );
+            this.simpleNameIndex = this.acceptedSimpleNameIndex;
+            this.t.getArguments().subList( this.acceptedArguments, this.t.getArguments().size() ).clear();
         }
-    }
 
-    private static IllegalArgumentException createInvalidTokenIllegalArgumentException( final String input,
-                                                                                        final Token token )
-    {
-        if ( token.getValue().length() > 1 )
+        private JavaTypeName argument( final boolean wildcard )
         {
-            return new IllegalArgumentException( getMessage( "invalidWord", input, token.getValue(),
-                                                             token.getPosition() ) );
+            this.argument = new Argument();
+            this.argument.wildcard = wildcard;
+            this.t.getArguments().add( this.argument );
 
-        }
-        else
-        {
-            return new IllegalArgumentException( getMessage( "invalidCharacter", input, token.getValue(),
-                                                             token.getPosition() ) );
+            if ( !wildcard )
+            {
+                this.argument.typeName = new JavaTypeName();
+            }
 
+            return this.argument.typeName;
         }
-    }
-
-    private static ParseException createUnexpectedEndOfInputParseException( final String input,
-                                                                            final int length )
-    {
-        return new ParseException( getMessage( "unexpectedEndOfInput", input, length ), length );
-    }
 
-    private static IllegalArgumentException createUnexpectedEndOfInputIllegalArgumentException( final String input,
-                                                                                                final int length )
-    {
-        return new IllegalArgumentException( getMessage( "unexpectedEndOfInput", input, length ) );
-    }
-
-    private static String getMessage( final String key, final Object... args )
-    {
-        return MessageFormat.format( ResourceBundle.getBundle(
-            JavaTypeName.class.getName().replace( '.', '/' ), Locale.getDefault() ).
-            getString( key ), args );
+        private void end()
+        {
+            setReferenceTypeNames( this.t, this.typeNameBuilder.toString(), this.simpleNameIndex );
+            this.t.arguments = Collections.unmodifiableList( this.t.getArguments() );
+        }
 
     }
 
@@ -1462,15 +1679,22 @@ public final class JavaTypeName implements Serializable
 
         private final int kind;
 
+        private final CharSequence input;
+
         private final int position;
 
-        private final String value;
+        private final int end;
 
-        private Token( final int kind, final int position, final String value )
+        private String value;
+
+        private Token( final int kind, final CharSequence input, final int position, final int end,
+                       final String value )
         {
             super();
             this.kind = kind;
+            this.input = input;
             this.position = position;
+            this.end = end;
             this.value = value;
         }
 
@@ -1484,13 +1708,47 @@ public final class JavaTypeName implements Serializable
             return this.position;
         }
 
+        private int getEnd()
+        {
+            return this.end;
+        }
+
         private String getValue()
         {
+            if ( this.value == null )
+            {
+                this.value = this.input.subSequence( this.position, this.end ).toString();
+            }
+
             return this.value;
         }
 
+        private void appendTo( final StringBuilder builder )
+        {
+            if ( this.value != null )
+            {
+                builder.append( this.value );
+            }
+            else
+            {
+                builder.append( this.input, this.position, this.end );
+            }
+        }
+
     }
 
+    /**
+     * Single-pass lexer producing tokens on demand.
+     * <p>
+     * Tokens are scanned one at a time when requested. Words are classified in place, so that no substrings of the
+     * input are created while scanning. The last token returned can be pushed back once.
+     * </p>
+     * <p>
+     * In prefix mode, the input is not required to end with the type name. Characters not being part of any token end
+     * the input and the end of the longest type name accepted so far is tracked, so that parsing can be stopped there
+     * instead of failing. Failures in prefix mode record the index of the error only.
+     * </p>
+     */
     private static final class Tokenizer
     {
 
@@ -1516,42 +1774,70 @@ public final class JavaTypeName implements Serializable
 
         private static final int TK_QM = 11;
 
-        private final String input;
+        private final CharSequence input;
+
+        private final boolean prefix;
 
-        private int token;
+        private int index;
 
-        private final List<Token> tokens;
+        private Token token;
+
+        private boolean pushedBack;
 
         private int length;
 
-        private Tokenizer( final String input, final boolean runtimeException ) throws ParseException
+        private int accepted = -1;
+
+        private boolean stopped;
+
+        private int errorIndex = -1;
+
+        private Token syntaxError;
+
+        private ParseResult<JavaTypeName> failure;
+
+        private Tokenizer( final String input )
         {
             super();
             this.input = input;
-            this.token = 0;
-            this.tokens = tokenize( input, runtimeException );
-
-            if ( !this.tokens.isEmpty() )
-            {
-                final Token last = this.tokens.get( this.tokens.size() - 1 );
-                this.length = last.getPosition() + last.getValue().length();
-            }
+            this.prefix = false;
         }
 
-        private String input()
+        private Tokenizer( final CharSequence input, final int start )
         {
-            return this.input;
+            super();
+            this.input = input;
+            this.prefix = true;
+            this.index = start;
+            this.length = start;
         }
 
         private Token next()
         {
-            final int idx = this.token++;
-            return idx < this.tokens.size() ? this.tokens.get( idx ) : null;
+            if ( this.pushedBack )
+            {
+                this.pushedBack = false;
+            }
+            else if ( this.failure == null && !this.stopped )
+            {
+                this.token = this.nextToken();
+
+                if ( this.token != null )
+                {
+                    this.length = this.token.getEnd();
+                }
+            }
+            else
+            {
+                this.token = null;
+            }
+
+            return this.token;
         }
 
         private void back()
         {
-            this.token--;
+            this.pushedBack = true;
         }
 
         private int length()
@@ -1559,161 +1845,270 @@ public final class JavaTypeName implements Serializable
             return this.length;
         }
 
-        private static List<Token> tokenize( final String input, final boolean runtimeException )
-            throws ParseException
+        /**
+         * Gets the outcome of a failed parse.
+         * <p>
+         * Invalid characters are reported in preference to any syntax error preceding them. Lexing stops at the first
+         * invalid character, so that any invalid character not following a syntax error has been found already. The
+         * characters following a syntax error are searched for invalid characters when the outcome is requested, so
+         * that valid input is read once.
+         * </p>
+         *
+         * @return The outcome of the failed parse or {@code null}, if parsing did not fail.
+         */
+        private ParseResult<JavaTypeName> failure()
+        {
+            if ( this.failure == null && this.syntaxError != null )
+            {
+                final int i = this.findInvalidCharacter( this.syntaxError.getPosition() );
+                this.failure = createInvalidTokenResult(
+                    i < 0
+                        ? this.syntaxError
+                        : new Token( Integer.MIN_VALUE, this.input, i, this.nextIndex( i ), null ) );
+
+            }
+
+            return this.failure;
+        }
+
+        private int errorIndex()
+        {
+            return this.errorIndex;
+        }
+
+        /**
+         * Accepts the input up to the end of the last token returned as a type name.
+         */
+        private void accept()
         {
-            final List<Token> list = new LinkedList<>();
-            final ParsePosition pos = new ParsePosition( 0 );
+            this.accepted = this.length;
+        }
 
-            for ( Token t = nextToken( pos, input, runtimeException );
-                  t != null;
-                  t = nextToken( pos, input, runtimeException ) )
+        /**
+         * Stops tokenizing at the end of the longest type name accepted in prefix mode.
+         *
+         * @return {@code true}, if tokenizing got stopped; {@code false}, if not in prefix mode or if no type name got
+         * accepted.
+         */
+        private boolean stop()
+        {
+            if ( !this.prefix || this.accepted < 0 )
             {
-                list.add( t );
+                return false;
             }
 
-            return Collections.unmodifiableList( list );
+            this.index = this.accepted;
+            this.length = this.accepted;
+            this.pushedBack = false;
+            this.stopped = true;
+            return true;
         }
 
-        private static Token nextToken( final ParsePosition pos, final String str, final boolean runtimeException )
-            throws ParseException
+        private boolean invalidToken( final Token token )
         {
-            for ( final int s0 = str.length(); pos.getIndex() < s0; pos.setIndex( pos.getIndex() + 1 ) )
+            if ( this.prefix )
             {
-                if ( !Character.isWhitespace( str.charAt( pos.getIndex() ) ) )
-                {
-                    break;
-                }
+                this.errorIndex = token.getPosition();
+            }
+            else
+            {
+                this.syntaxError = token;
             }
 
-            int idx = pos.getIndex();
-            Token token = null;
+            return false;
+        }
 
-            if ( idx < str.length() )
+        private boolean unexpectedEndOfInput()
+        {
+            if ( this.prefix )
             {
-                // Check separator characters.
-                switch ( str.charAt( idx ) )
-                {
-                    case ',':
-                        token = new Token( TK_COMMA, idx, "," );
-                        pos.setIndex( idx + 1 );
-                        break;
-                    case '.':
-                        token = new Token( TK_DOT, idx, "." );
-                        pos.setIndex( idx + 1 );
-                        break;
-                    case '<':
-                        token = new Token( TK_LT, idx, "<" );
-                        pos.setIndex( idx + 1 );
-                        break;
-                    case '>':
-                        token = new Token( TK_GT, idx, ">" );
-                        pos.setIndex( idx + 1 );
-                        break;
-                    case '[':
-                        token = new Token( TK_LPAR, idx, "[" );
-                        pos.setIndex( idx + 1 );
-                        break;
-                    case ']':
-                        token = new Token( TK_RPAR, idx, "]" );
-                        pos.setIndex( idx + 1 );
-                        break;
-                    case '?':
-                        token = new Token( TK_QM, idx, "?" );
-                        pos.setIndex( idx + 1 );
-                        break;
-
-                    default:
-                        token = null;
+                this.errorIndex = this.index;
+            }
+            else if ( this.failure == null )
+            {
+                // Input ending at an invalid character is reported as such.
+                this.failure = new ParseResult<>( ParseErrorCode.UNEXPECTED_END_OF_INPUT, this.input.toString(), null,
+                                                  this.length, JavaTypeName.class );
+
+            }
+
+            return false;
+        }
 
+        private int codePointAt( final int index )
+        {
+            final char c = this.input.charAt( index );
+            return Character.isHighSurrogate( c ) ? Character.codePointAt( this.input, index ) : c;
+        }
+
+        private boolean isWhitespace( final int index )
+        {
+            return JavaCharacters.isWhitespace( this.codePointAt( index ) );
+        }
+
+        private boolean isIdentifierStart( final int index )
+        {
+            return JavaCharacters.isIdentifierStart( this.codePointAt( index ) );
+        }
+
+        private boolean isIdentifierPart( final int index )
+        {
+            return JavaCharacters.isIdentifierPart( this.codePointAt( index ) );
+        }
+
+        private int nextIndex( final int index )
+        {
+            return index + Character.charCount( this.codePointAt( index ) );
+        }
+
+        /**
+         * Finds the first character of the input not being part of any token.
+         *
+         * @param start The index of the first character of a token to start searching at.
+         *
+         * @return The index of the first character of the input from {@code start} not being part of any token or
+         * {@code -1}, if all characters of the input from {@code start} are part of a token.
+         */
+        private int findInvalidCharacter( final int start )
+        {
+            boolean identifier = false;
+
+            for ( int i = start, s0 = this.input.length(); i < s0; i = this.nextIndex( i ) )
+            {
+                if ( identifier && this.isIdentifierPart( i ) )
+                {
+                    continue;
                 }
 
-                if ( token == null )
+                identifier = this.isIdentifierStart( i );
+
+                if ( !( identifier || this.isWhitespace( i ) || isSeparator( this.input.charAt( i ) ) ) )
                 {
-                    final String substring = str.substring( idx );
-                    final BiFunction<Collection<String>, Integer, Token> parse = ( c, k )  ->
-                    {
-                        try ( final Stream<String> stream = c.parallelStream().unordered() )
-                        {
-                            Token result = null;
+                    return i;
+                }
+            }
 
-                            final Optional<String> type = stream.filter( t  ->
-                            {
-                                final int i1 = pos.getIndex() + t.length();
-                                return substring.startsWith( t )
-                                           && ( i1 >= str.length()
-                                                || !Character.isJavaIdentifierPart( str.charAt( i1 ) ) );
+            return -1;
+        }
 
-                            } ).max( ( t1, t2 )  -> t1.length() - t2.length() );
+        private static boolean isSeparator( final char c )
+        {
+            switch ( c )
+            {
+                case ',':
+                case '.':
+                case '<':
+                case '>':
+                case '[':
+                case ']':
+                case '?':
+                    return true;
 
-                            if ( type.isPresent() )
-                            {
-                                result = new Token( k, pos.getIndex(), type.get() );
-                                pos.setIndex( pos.getIndex() + type.get().length() );
-                            }
+                default:
+                    return false;
 
-                            return result;
-                        }
-                    };
+            }
+        }
 
-                    // Check basic type.
-                    token = parse.apply( JavaLanguage.BASIC_TYPES, Tokenizer.TK_BASIC_TYPE );
+        private Token nextToken()
+        {
+            final CharSequence str = this.input;
+            final int s0 = str.length();
+            int idx = this.index;
 
-                    if ( token == null )
-                    {
-                        // Check keyword.
-                        token = parse.apply( JavaLanguage.KEYWORDS, Tokenizer.TK_KEYWORD );
-                    }
+            while ( idx < s0 && this.isWhitespace( idx ) )
+            {
+                idx = this.nextIndex( idx );
+            }
 
-                    if ( token == null )
-                    {
-                        // Check boolean literal.
-                        token = parse.apply( JavaLanguage.BOOLEAN_LITERALS, Tokenizer.TK_LITERAL );
-                    }
+            if ( idx >= s0 )
+            {
+                this.index = idx;
+                return null;
+            }
 
-                    if ( token == null )
-                    {
-                        // Check null literal.
-                        token = parse.apply( Set.of( JavaLanguage.NULL_LITERAL ), Tokenizer.TK_LITERAL );
-                    }
+            Token token = null;
+
+            // Check separator characters.
+            switch ( str.charAt( idx ) )
+            {
+                case ',':
+                    token = new Token( TK_COMMA, str, idx, idx + 1, "," );
+                    break;
+                case '.':
+                    token = new Token( TK_DOT, str, idx, idx + 1, "." );
+                    break;
+                case '<':
+                    token = new Token( TK_LT, str, idx, idx + 1, "<" );
+                    break;
+                case '>':
+                    token = new Token( TK_GT, str, idx, idx + 1, ">" );
+                    break;
+                case '[':
+                    token = new Token( TK_LPAR, str, idx, idx + 1, "[" );
+                    break;
+                case ']':
+                    token = new Token( TK_RPAR, str, idx, idx + 1, "]" );
+                    break;
+                case '?':
+                    token = new Token( TK_QM, str, idx, idx + 1, "?" );
+                    break;
+
+                default:
+                    token = null;
+
+            }
+
+            if ( token == null && this.isIdentifierStart( idx ) )
+            {
+                // Check word.
+                int end = this.nextIndex( idx );
+
+                while ( end < s0 && this.isIdentifierPart( end ) )
+                {
+                    end = this.nextIndex( end );
                 }
 
-                // Check identifier.
-                if ( token == null )
+                final int word = JavaLanguage.findWord( str, idx, end );
+
+                if ( word < 0 )
+                {
+                    token = new Token( TK_IDENTIFIER, str, idx, end, null );
+                }
+                else
                 {
-                    for ( final int s0 = str.length(); idx < s0; idx++ )
+                    switch ( JavaLanguage.getWordKind( word ) )
                     {
-                        if ( !( idx == pos.getIndex()
-                                ? Character.isJavaIdentifierStart( str.charAt( idx ) )
-                                : Character.isJavaIdentifierPart( str.charAt( idx ) ) ) )
-                        {
+                        case JavaLanguage.WORD_BASIC_TYPE:
+                            token = new Token( TK_BASIC_TYPE, str, idx, end, JavaLanguage.getWord( word ) );
                             break;
-                        }
-                    }
+                        case JavaLanguage.WORD_KEYWORD:
+                            token = new Token( TK_KEYWORD, str, idx, end, JavaLanguage.getWord( word ) );
+                            break;
+                        default:
+                            token = new Token( TK_LITERAL, str, idx, end, JavaLanguage.getWord( word ) );
 
-                    if ( idx != pos.getIndex() )
-                    {
-                        token = new Token( TK_IDENTIFIER, pos.getIndex(), str.substring( pos.getIndex(), idx ) );
-                        pos.setIndex( idx );
                     }
                 }
+            }
 
-                if ( token == null )
+            if ( token == null )
+            {
+                if ( this.prefix )
+                {
+                    this.index = idx;
+                }
+                else
                 {
-                    final Token invalidToken =
-                        new Token( Integer.MIN_VALUE, idx, Character.toString( str.charAt( idx ) ) );
+                    this.failure = createInvalidTokenResult(
+                        new Token( Integer.MIN_VALUE, str, idx, this.nextIndex( idx ), null ) );
 
-                    if ( runtimeException )
-                    {
-                        throw createInvalidTokenIllegalArgumentException( str, invalidToken );
-                    }
-                    else
-                    {
-                        throw createInvalidTokenParseException( str, invalidToken );
-                    }
                 }
+
+                return null;
             }
 
+            this.index = token.getEnd();
             return token;
         }
 
@@ -0,0 +1,87 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Localized messages.
+ * <p>
+ * Message formats are looked up once per locale, class and key. Formats are not thread-safe. Formatting a message
+ * synchronizes on the format used.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+final class Messages
+{
+
+    /**
+     * Message formats by locale and by class name and key.
+     */
+    private static final ConcurrentMap<Locale, ConcurrentMap<String, MessageFormat>> FORMATS =
+        new ConcurrentHashMap<>();
+
+    private Messages()
+    {
+        super();
+    }
+
+    /**
+     * Formats a message of the resource bundle of a class.
+     *
+     * @param messageClass The class whose resource bundle holds the message.
+     * @param key The key of the message.
+     * @param locale The locale of the message.
+     * @param args The arguments of the message.
+     *
+     * @return The message formatted for {@code locale}.
+     */
+    static String format( final Class<?> messageClass, final String key, final Locale locale, final Object... args )
+    {
+        final String bundleName = messageClass.getName().replace( '.', '/' );
+        final MessageFormat format =
+            FORMATS.computeIfAbsent( locale, l  -> new ConcurrentHashMap<>() ).computeIfAbsent(
+            bundleName + '#' + key, k  -> new MessageFormat(
+            ResourceBundle.getBundle( bundleName, locale ).getString( key ), locale ) );
+
+        synchronized ( format )
+        {
+            return format.format( args );
+        }
+    }
+
+}
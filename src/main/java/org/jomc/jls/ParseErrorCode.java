@@ -0,0 +1,89 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+/**
+ * Kinds of parse failures.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see ParseResult#getErrorCode()
+ */
+public enum ParseErrorCode
+{
+
+    /**
+     * A character not allowed at its position.
+     */
+    INVALID_CHARACTER( "invalidCharacter" ),
+    /**
+     * Text not containing any characters allowed.
+     */
+    INVALID_CHARACTERS( "invalidCharacters" ),
+    /**
+     * An empty string.
+     */
+    INVALID_EMPTY_STRING( "invalidEmptyString" ),
+    /**
+     * A word not allowed at its position.
+     */
+    INVALID_WORD( "invalidWord" ),
+    /**
+     * Text ending prematurely.
+     */
+    UNEXPECTED_END_OF_INPUT( "unexpectedEndOfInput" );
+
+    /**
+     * The key of the message of the code.
+     */
+    private final String key;
+
+    /**
+     * Creates a new {@code ParseErrorCode} instance.
+     *
+     * @param key The key of the message of the code.
+     */
+    ParseErrorCode( final String key )
+    {
+        this.key = key;
+    }
+
+    /**
+     * Gets the key of the message of the code.
+     *
+     * @return The key of the message of the code.
+     */
+    String getKey()
+    {
+        return this.key;
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Outcome of parsing text.
+ * <p>
+ * A result holds either the value parsed or the code and index of the error parsing failed with.
+ * </p>
+ *
+ * @param <T> The type of the value parsed.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see JavaIdentifier#tryParse(java.lang.CharSequence)
+ * @see JavaTypeName#tryParse(java.lang.CharSequence)
+ */
+public final class ParseResult<T>
+{
+
+    /**
+     * The value parsed.
+     */
+    private final T value;
+
+    /**
+     * The code of the error parsing failed with.
+     */
+    private final ParseErrorCode errorCode;
+
+    /**
+     * The index of the error parsing failed with.
+     */
+    private final int errorIndex;
+
+    /**
+     * The text parsed.
+     */
+    private final String input;
+
+    /**
+     * The word or character the error occurred at.
+     */
+    private final String token;
+
+    /**
+     * The class whose resource bundle holds the message of the error.
+     */
+    private final Class<?> messageClass;
+
+    /**
+     * Creates a new {@code ParseResult} instance holding a value.
+     *
+     * @param value The value parsed.
+     */
+    ParseResult( final T value )
+    {
+        super();
+        this.value = Objects.requireNonNull( value, "value" );
+        this.errorCode = null;
+        this.errorIndex = -1;
+        this.input = null;
+        this.token = null;
+        this.messageClass = null;
+    }
+
+    /**
+     * Creates a new {@code ParseResult} instance holding an error.
+     *
+     * @param errorCode The code of the error.
+     * @param input The text parsed.
+     * @param token The word or character the error occurred at or {@code null}.
+     * @param errorIndex The index of the error in {@code input}, relative to the first character parsed.
+     * @param messageClass The class whose resource bundle holds the message of the error.
+     */
+    ParseResult( final ParseErrorCode errorCode, final String input, final String token, final int errorIndex,
+                 final Class<?> messageClass )
+    {
+        super();
+        this.value = null;
+        this.errorCode = Objects.requireNonNull( errorCode, "errorCode" );
+        this.errorIndex = errorIndex;
+        this.input = Objects.requireNonNull( input, "input" );
+        this.token = token;
+        this.messageClass = Objects.requireNonNull( messageClass, "messageClass" );
+    }
+
+    /**
+     * Gets a flag indicating parsing succeeded.
+     *
+     * @return {@code true}, if parsing succeeded; {@code false}, if parsing failed.
+     */
+    public boolean isValid()
+    {
+        return this.errorCode == null;
+    }
+
+    /**
+     * Gets the value parsed.
+     *
+     * @return The value parsed or no value, if parsing failed.
+     */
+    public Optional<T> getValue()
+    {
+        return Optional.ofNullable( this.value );
+    }
+
+    /**
+     * Gets the code of the error parsing failed with.
+     *
+     * @return The code of the error parsing failed with or no value, if parsing succeeded.
+     */
+    public Optional<ParseErrorCode> getErrorCode()
+    {
+        return Optional.ofNullable( this.errorCode );
+    }
+
+    /**
+     * Gets the index of the error parsing failed with.
+     * <p>
+     * The index is relative to the first character parsed, which is the first character of a range of characters
+     * parsed. It equals the error offset of the {@code JavaParseException} thrown by the {@link #get()} method.
+     * </p>
+     *
+     * @return The index of the error parsing failed with relative to the first character parsed or {@code -1}, if
+     * parsing succeeded.
+     *
+     * @see JavaParseException#getErrorOffset()
+     */
+    public int getErrorIndex()
+    {
+        return this.errorIndex;
+    }
+
+    /**
+     * Creates a string representation of the instance.
+     *
+     * @return A string representation of the instance.
+     */
+    @Override
+    public String toString()
+    {
+        return this.isValid()
+                   ? "ParseResult{value=" + this.value + "}"
+                   : "ParseResult{errorCode=" + this.errorCode + ", errorIndex=" + this.errorIndex + "}";
+
+    }
+
+    /**
+     * Gets the value parsed.
+     *
+     * @return The value parsed.
+     *
+     * @throws JavaParseException if parsing failed.
+     */
+    T get() throws JavaParseException
+    {
+        if ( !this.isValid() )
+        {
+            throw new JavaParseException( this.errorCode, this.input, this.token, this.errorIndex, this.messageClass );
+        }
+
+        return this.value;
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.jomc.jls.spi.Cache;
+
+/**
+ * Concurrent cache holding its values by soft or weak references.
+ * <p>
+ * Every value is held by a reference of its own, so that the garbage collector reclaims values one by one instead of
+ * clearing the whole cache at once. Entries of reclaimed values are removed on subsequent accesses to the cache.
+ * </p>
+ *
+ * @param <K> The type of the keys of the cache.
+ * @param <V> The type of the values of the cache.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+final class ReferenceCache<K, V> implements Cache<K, V>
+{
+
+    /**
+     * The entries of the cache.
+     */
+    private final ConcurrentMap<K, Reference<V>> map = new ConcurrentHashMap<>( 128 );
+
+    /**
+     * Queue of the references cleared by the garbage collector.
+     */
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    /**
+     * The number of entries removed due to their values having been reclaimed.
+     */
+    private final LongAdder reclamations = new LongAdder();
+
+    /**
+     * Flag indicating the values of the cache are held by soft references.
+     */
+    private final boolean soft;
+
+    /**
+     * Creates a new {@code ReferenceCache} instance.
+     *
+     * @param soft {@code true}, to hold the values of the cache by soft references; {@code false}, to hold the values
+     * of the cache by weak references.
+     */
+    ReferenceCache( final boolean soft )
+    {
+        super();
+        this.soft = soft;
+    }
+
+    @Override
+    public V get( final K key )
+    {
+        Objects.requireNonNull( key, "key" );
+        this.expunge();
+        final Reference<V> r = this.map.get( key );
+        return r != null ? r.get() : null;
+    }
+
+    @Override
+    public V putIfAbsent( final K key, final V value )
+    {
+        Objects.requireNonNull( key, "key" );
+        Objects.requireNonNull( value, "value" );
+        this.expunge();
+
+        final Reference<V> reference = this.soft
+                                           ? new SoftEntry<>( key, value, this.queue )
+                                           : new WeakEntry<>( key, value, this.queue );
+
+        for ( Reference<V> existing = this.map.putIfAbsent( key, reference ); existing != null;
+              existing = this.map.putIfAbsent( key, reference ) )
+        {
+            final V existingValue = existing.get();
+
+            if ( existingValue != null )
+            {
+                return existingValue;
+            }
+
+            // Replaces the entry of a reclaimed value unless another thread has replaced it meanwhile.
+            if ( this.map.replace( key, existing, reference ) )
+            {
+                this.reclamations.increment();
+                break;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.map.clear();
+    }
+
+    @Override
+    public long size()
+    {
+        this.expunge();
+        return this.map.size();
+    }
+
+    @Override
+    public long reclamationCount()
+    {
+        this.expunge();
+        return this.reclamations.sum();
+    }
+
+    /**
+     * Removes the entries of the values reclaimed by the garbage collector.
+     */
+    @SuppressWarnings( "unchecked" )
+    private void expunge()
+    {
+        for ( Reference<? extends V> r = this.queue.poll(); r != null; r = this.queue.poll() )
+        {
+            if ( this.map.remove( ( (Entry<K>) r ).getKey(), r ) )
+            {
+                this.reclamations.increment();
+            }
+        }
+    }
+
+    /**
+     * Reference to a value of the cache.
+     *
+     * @param <K> The type of the key of the entry.
+     */
+    private interface Entry<K>
+    {
+
+        /**
+         * Gets the key of the entry.
+         *
+         * @return The key of the entry.
+         */
+        K getKey();
+
+    }
+
+    private static final class SoftEntry<K, V> extends SoftReference<V> implements Entry<K>
+    {
+
+        private final K key;
+
+        private SoftEntry( final K key, final V value, final ReferenceQueue<? super V> queue )
+        {
+            super( value, queue );
+            this.key = key;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+    }
+
+    private static final class WeakEntry<K, V> extends WeakReference<V> implements Entry<K>
+    {
+
+        private final K key;
+
+        private WeakEntry( final K key, final V value, final ReferenceQueue<? super V> queue )
+        {
+            super( value, queue );
+            this.key = key;
+        }
+
+        @Override
+        public K getKey()
+        {
+            return this.key;
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent parses of equal keys.
+ * <p>
+ * The first thread requesting a key performs the parse. Threads requesting an equal key while that parse is in
+ * flight wait for its outcome instead of parsing the same text again, and receive the outcome of that parse.
+ * </p>
+ *
+ * @param <K> The type of the keys of parses.
+ * @param <V> The type of the outcomes of parses.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+final class SingleFlight<K, V>
+{
+
+    /**
+     * The parses in flight.
+     */
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@code SingleFlight} instance.
+     */
+    SingleFlight()
+    {
+        super();
+    }
+
+    /**
+     * Parses a value unless a parse of an equal key is in flight.
+     *
+     * @param key The key of the parse.
+     * @param parser The parser to use for parsing the value, if no parse of an equal key is in flight.
+     *
+     * @return The outcome of {@code parser} or of the parse in flight.
+     */
+    V parse( final K key, final Supplier<? extends V> parser )
+    {
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = this.flights.putIfAbsent( key, flight );
+
+        if ( inFlight != null )
+        {
+            try
+            {
+                return inFlight.join();
+            }
+            catch ( final CompletionException e )
+            {
+                if ( e.getCause() instanceof RuntimeException )
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                if ( e.getCause() instanceof Error )
+                {
+                    throw (Error) e.getCause();
+                }
+
+                throw e;
+            }
+        }
+
+        try
+        {
+            final V value = parser.get();
+            flight.complete( value );
+            return value;
+        }
+        catch ( final RuntimeException | Error e )
+        {
+            flight.completeExceptionally( e );
+            throw e;
+        }
+        finally
+        {
+            this.flights.remove( key, flight );
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Characters of a range of UTF-8 encoded bytes.
+ * <p>
+ * Ranges of ASCII bytes are not decoded but viewed as character sequences reading the bytes on demand. Other ranges
+ * are decoded leniently. Both UTF-8 and the modified UTF-8 of class files are accepted. Malformed sequences of bytes
+ * and overlong encodings, except for the two byte encoding of {@code U+0000} of modified UTF-8, are decoded to the
+ * replacement character {@code U+FFFD}.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+final class Utf8Sequence implements CharSequence
+{
+
+    /**
+     * The bytes of the sequence.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The index of the first byte of the sequence.
+     */
+    private final int offset;
+
+    /**
+     * The number of bytes of the sequence.
+     */
+    private final int length;
+
+    private Utf8Sequence( final ByteBuffer buffer, final int offset, final int length )
+    {
+        super();
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Gets the characters of a range of UTF-8 encoded bytes.
+     * <p>
+     * The position and limit of {@code buffer} are not changed.
+     * </p>
+     *
+     * @param buffer The buffer holding the bytes.
+     * @param offset The absolute index of the first byte in {@code buffer}.
+     * @param length The number of bytes.
+     *
+     * @return The characters of the bytes of {@code buffer} from {@code offset} to {@code offset + length - 1}.
+     */
+    static CharSequence of( final ByteBuffer buffer, final int offset, final int length )
+    {
+        for ( int i = offset, s0 = offset + length; i < s0; i++ )
+        {
+            if ( buffer.get( i ) < 0 )
+            {
+                return decode( buffer, offset, length );
+            }
+        }
+
+        return new Utf8Sequence( buffer, offset, length );
+    }
+
+    private static String decode( final ByteBuffer buffer, final int offset, final int length )
+    {
+        final char[] chars = new char[ length ];
+        final int end = offset + length;
+        int n = 0;
+
+        for ( int i = offset; i < end; )
+        {
+            final int b0 = buffer.get( i ) & 0xFF;
+
+            if ( b0 < 0x80 )
+            {
+                chars[n++] = (char) b0;
+                i++;
+            }
+            else if ( ( b0 & 0xE0 ) == 0xC0 && isContinuation( buffer, i + 1, end ) )
+            {
+                final int c = ( b0 & 0x1F ) << 6 | buffer.get( i + 1 ) & 0x3F;
+                // Overlong encodings are rejected except for the modified UTF-8 encoding of U+0000.
+                chars[n++] = c >= 0x80 || c == 0 ? (char) c : '\uFFFD';
+                i += 2;
+            }
+            else if ( ( b0 & 0xF0 ) == 0xE0 && isContinuation( buffer, i + 1, end )
+                          && isContinuation( buffer, i + 2, end ) )
+            {
+                // Surrogates are decoded as is, so that modified UTF-8 supplementary characters yield a pair.
+                final int c = ( b0 & 0x0F ) << 12 | ( buffer.get( i + 1 ) & 0x3F ) << 6 | buffer.get( i + 2 ) & 0x3F;
+                chars[n++] = c >= 0x800 ? (char) c : '\uFFFD';
+
+                i += 3;
+            }
+            else if ( ( b0 & 0xF8 ) == 0xF0 && isContinuation( buffer, i + 1, end )
+                          && isContinuation( buffer, i + 2, end ) && isContinuation( buffer, i + 3, end ) )
+            {
+                final int codePoint = ( b0 & 0x07 ) << 18 | ( buffer.get( i + 1 ) & 0x3F ) << 12
+                                          | ( buffer.get( i + 2 ) & 0x3F ) << 6 | buffer.get( i + 3 ) & 0x3F;
+
+                if ( Character.isSupplementaryCodePoint( codePoint ) )
+                {
+                    chars[n++] = Character.highSurrogate( codePoint );
+                    chars[n++] = Character.lowSurrogate( codePoint );
+                }
+                else
+                {
+                    chars[n++] = '\uFFFD';
+                }
+
+                i += 4;
+            }
+            else
+            {
+                chars[n++] = '\uFFFD';
+                i++;
+            }
+        }
+
+        return new String( chars, 0, n );
+    }
+
+    private static boolean isContinuation( final ByteBuffer buffer, final int index, final int end )
+    {
+        return index < end && ( buffer.get( index ) & 0xC0 ) == 0x80;
+    }
+
+    @Override
+    public int length()
+    {
+        return this.length;
+    }
+
+    @Override
+    public char charAt( final int index )
+    {
+        return (char) this.buffer.get( this.offset + Objects.checkIndex( index, this.length ) );
+    }
+
+    @Override
+    public CharSequence subSequence( final int start, final int end )
+    {
+        Objects.checkFromToIndex( start, end, this.length );
+        return new Utf8Sequence( this.buffer, this.offset + start, end - start );
+    }
+
+    @Override
+    public String toString()
+    {
+        final byte[] bytes = new byte[ this.length ];
+        final ByteBuffer duplicate = this.buffer.duplicate();
+        duplicate.limit( this.offset + this.length ).position( this.offset );
+        duplicate.get( bytes );
+        return new String( bytes, StandardCharsets.US_ASCII );
+    }
+
+}
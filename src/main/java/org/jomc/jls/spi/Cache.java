@@ -0,0 +1,133 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls.spi;
+
+/**
+ * Cache of parsed instances.
+ * <p>
+ * Implementations must be thread-safe. They may discard entries at any time, but must never return a value for a key
+ * the value has not been cached for. Values are expected to be returned as cached. Implementations returning copies
+ * of cached values defeat the identity of parsed instances.
+ * </p>
+ * <p>
+ * Caches created by a {@link CacheProvider} are keyed by {@link CacheKey} instances. Implementations storing entries
+ * outside of the heap can store the text and the qualifier of a key and recreate an equal key using the
+ * {@link CacheKey#of(String, Enum)} method.
+ * </p>
+ *
+ * @param <K> The type of the keys of the cache.
+ * @param <V> The type of the values of the cache.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see CacheProvider#createCache(java.lang.String)
+ */
+public interface Cache<K, V>
+{
+
+    /**
+     * Gets the value cached for a given key.
+     * <p>
+     * Keys given to this method must not be kept and must not be assumed stable. A {@link CacheKey} given to this
+     * method may denote characters of a mutable character sequence of the caller, so that it may denote other
+     * characters or refer to a character sequence no longer in use once this method returns. Implementations keeping
+     * track of the keys requested need to keep an immutable key as returned by the {@link CacheKey#toStableKey()}
+     * method or information derived from the key, like its hash code. Keys given to the
+     * {@link #putIfAbsent(Object, Object)} method are immutable.
+     * </p>
+     *
+     * @param key The key of the value to get.
+     *
+     * @return The value cached for {@code key} or {@code null}, if no value is cached for {@code key}.
+     *
+     * @throws NullPointerException if {@code key} is {@code null}.
+     */
+    V get( K key );
+
+    /**
+     * Caches a value unless a value is already cached for a given key.
+     *
+     * @param key The key of the value to cache.
+     * @param value The value to cache.
+     *
+     * @return The value already cached for {@code key}, {@code value}, if the cache declined to cache {@code value},
+     * or {@code null}, if {@code value} has been cached.
+     *
+     * @throws NullPointerException if {@code key} or {@code value} is {@code null}.
+     */
+    V putIfAbsent( K key, V value );
+
+    /**
+     * Removes all entries from the cache.
+     */
+    void clear();
+
+    /**
+     * Gets the number of entries of the cache.
+     *
+     * @return The approximate number of entries of the cache.
+     */
+    long size();
+
+    /**
+     * Gets the number of entries discarded by the cache to stay within its bounds.
+     *
+     * @return The number of entries discarded by the cache to stay within its bounds. This method returns {@code 0L}
+     * by default.
+     */
+    default long evictionCount()
+    {
+        return 0L;
+    }
+
+    /**
+     * Gets the number of values the cache declined to cache to stay within its bounds.
+     *
+     * @return The number of values the cache declined to cache to stay within its bounds. This method returns
+     * {@code 0L} by default.
+     */
+    default long rejectionCount()
+    {
+        return 0L;
+    }
+
+    /**
+     * Gets the number of entries discarded by the cache due to the garbage collector having reclaimed their values.
+     *
+     * @return The number of entries discarded by the cache due to the garbage collector having reclaimed their values.
+     * This method returns {@code 0L} by default.
+     */
+    default long reclamationCount()
+    {
+        return 0L;
+    }
+
+}
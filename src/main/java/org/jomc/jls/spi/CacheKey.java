@@ -0,0 +1,272 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls.spi;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Key of a cache of parsed instances.
+ * <p>
+ * Keys denote text and an optional constant qualifying the text, like the normalization mode text is normalized
+ * with. Keys compare the characters of the text they denote, so that a key denoting a range of characters of an
+ * arbitrary character sequence can be used to look up a value cached for a key denoting an equal string.
+ * </p>
+ * <p>
+ * Keys created by the {@link #of(String, Enum)} method are immutable and may be kept, copied and serialized. Keys
+ * created by the {@link #probe(CharSequence, int, int, Enum)} method may denote characters of mutable character
+ * sequences. Such keys are only given to the {@link Cache#get(Object)} method and must not be kept. The
+ * {@link #toStableKey()} method gets an immutable key equal to any key. Serializing a key serializes an immutable key
+ * equal to the key.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ *
+ * @see Cache
+ */
+public final class CacheKey implements Serializable
+{
+
+    /**
+     * The text of the key or {@code null}, if the key denotes a range of characters of a character sequence.
+     *
+     * @serial
+     */
+    private final String text;
+
+    /**
+     * Constant qualifying the text of the key or {@code null}.
+     *
+     * @serial
+     */
+    private final Enum<?> qualifier;
+
+    /**
+     * The characters of the key.
+     */
+    private final transient CharSequence sequence;
+
+    /**
+     * The index of the first character of the key, inclusive.
+     */
+    private final transient int start;
+
+    /**
+     * The index of the last character of the key, exclusive.
+     */
+    private final transient int end;
+
+    /**
+     * The hash code of the key.
+     */
+    private final transient int hash;
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = -2290914521488612466L;
+
+    private CacheKey( final String text, final CharSequence sequence, final int start, final int end,
+                      final Enum<?> qualifier, final int textHash )
+    {
+        super();
+        this.text = text;
+        this.sequence = sequence;
+        this.start = start;
+        this.end = end;
+        this.qualifier = qualifier;
+        this.hash = 37 * textHash + ( qualifier != null ? qualifier.hashCode() : 0 );
+    }
+
+    /**
+     * Creates an immutable key denoting a string.
+     *
+     * @param text The string the key denotes.
+     * @param qualifier Constant qualifying {@code text} or {@code null}.
+     *
+     * @return An immutable key denoting {@code text}.
+     *
+     * @throws NullPointerException if {@code text} is {@code null}.
+     */
+    public static CacheKey of( final String text, final Enum<?> qualifier )
+    {
+        return new CacheKey( Objects.requireNonNull( text, "text" ), text, 0, text.length(), qualifier,
+                             text.hashCode() );
+
+    }
+
+    /**
+     * Creates a key denoting a range of characters to look up.
+     * <p>
+     * No string is created for the range of characters. The key denotes the characters of {@code text} at the time
+     * the key is used, so that it must not be kept beyond looking up a value, unless {@code text} is a string.
+     * </p>
+     *
+     * @param text The character sequence holding the characters the key denotes.
+     * @param start The index of the first character the key denotes, inclusive.
+     * @param end The index of the last character the key denotes, exclusive.
+     * @param qualifier Constant qualifying the characters or {@code null}.
+     *
+     * @return A key denoting the characters of {@code text} from {@code start} to {@code end - 1}.
+     *
+     * @throws NullPointerException if {@code text} is {@code null}.
+     * @throws IndexOutOfBoundsException if {@code start} or {@code end} is negative, if {@code end} is greater than
+     * the length of {@code text} or if {@code start} is greater than {@code end}.
+     */
+    public static CacheKey probe( final CharSequence text, final int start, final int end, final Enum<?> qualifier )
+    {
+        Objects.checkFromToIndex( start, end, Objects.requireNonNull( text, "text" ).length() );
+
+        if ( text instanceof String && start == 0 && end == text.length() )
+        {
+            return of( (String) text, qualifier );
+        }
+
+        // Same hash code as the hash code of a string holding the characters.
+        int h = 0;
+
+        for ( int i = start; i < end; i++ )
+        {
+            h = 31 * h + text.charAt( i );
+        }
+
+        return new CacheKey( null, text, start, end, qualifier, h );
+    }
+
+    /**
+     * Gets the number of characters of the key.
+     *
+     * @return The number of characters of the key.
+     */
+    public int length()
+    {
+        return this.end - this.start;
+    }
+
+    /**
+     * Gets the constant qualifying the text of the key.
+     *
+     * @return The constant qualifying the text of the key or {@code null}.
+     */
+    public Enum<?> getQualifier()
+    {
+        return this.qualifier;
+    }
+
+    /**
+     * Gets the text of the key.
+     *
+     * @return The text of the key.
+     */
+    public String getText()
+    {
+        return this.text != null ? this.text : this.sequence.subSequence( this.start, this.end ).toString();
+    }
+
+    /**
+     * Gets an immutable key equal to the key.
+     *
+     * @return The key, if the key is immutable, or a new immutable key equal to the key.
+     */
+    public CacheKey toStableKey()
+    {
+        return this.text != null ? this : of( this.getText(), this.qualifier );
+    }
+
+    /**
+     * Gets the text of the key.
+     *
+     * @return The text of the key.
+     *
+     * @see #getText()
+     */
+    @Override
+    public String toString()
+    {
+        return this.getText();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hash;
+    }
+
+    @Override
+    public boolean equals( final Object o )
+    {
+        boolean equal = o == this;
+
+        if ( !equal && o instanceof CacheKey )
+        {
+            final CacheKey that = (CacheKey) o;
+            equal = this.hash == that.hash && this.length() == that.length() && this.qualifier == that.qualifier;
+
+            for ( int i = this.start, j = that.start; equal && i < this.end; i++, j++ )
+            {
+                equal = this.sequence.charAt( i ) == that.sequence.charAt( j );
+            }
+        }
+
+        return equal;
+    }
+
+    /**
+     * Replaces the key by an immutable key equal to the key for serialization.
+     *
+     * @return An immutable key equal to the key.
+     */
+    private Object writeReplace()
+    {
+        return this.toStableKey();
+    }
+
+    /**
+     * Resolves a deserialized key to an immutable key equal to the deserialized key.
+     *
+     * @return An immutable key equal to the deserialized key.
+     *
+     * @throws ObjectStreamException if the deserialized key holds no text.
+     */
+    private Object readResolve() throws ObjectStreamException
+    {
+        if ( this.text == null )
+        {
+            throw new InvalidObjectException( "text" );
+        }
+
+        return of( this.text, this.qualifier );
+    }
+
+}
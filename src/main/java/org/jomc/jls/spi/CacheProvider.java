@@ -0,0 +1,73 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls.spi;
+
+/**
+ * Provider of caches of parsed instances.
+ * <p>
+ * The provider in use is looked up once when the first cache is created. If the system property
+ * {@code org.jomc.jls.spi.CacheProvider} is set, it names either one of the built-in providers or the binary name of a
+ * class implementing this interface providing a public no-argument constructor. The built-in providers are:
+ * </p>
+ * <dl>
+ * <dt>{@code strong}</dt><dd>Caches bounded in size by the system property
+ * {@code org.jomc.jls.spi.CacheProvider.maximumSize} keeping frequently requested instances.</dd>
+ * <dt>{@code soft}</dt><dd>Caches holding each value by a soft reference.</dd>
+ * <dt>{@code weak}</dt><dd>Caches holding each value by a weak reference.</dd>
+ * <dt>{@code none}</dt><dd>Caches not caching anything.</dd>
+ * </dl>
+ * <p>
+ * If the system property is not set, the first provider found by the {@code ServiceLoader} is used. If there is no such
+ * provider, the {@code strong} provider is used.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see java.util.ServiceLoader
+ */
+public interface CacheProvider
+{
+
+    /**
+     * Creates a new cache.
+     *
+     * @param <V> The type of the values of the cache.
+     * @param name The name of the cache to create (e.g. the binary name of the class of the values of the cache).
+     *
+     * @return A new cache.
+     *
+     * @throws NullPointerException if {@code name} is {@code null}.
+     *
+     * @see CacheKey
+     */
+    <V> Cache<CacheKey, V> createCache( String name );
+
+}
@@ -0,0 +1,95 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+/**
+ * Characters of qualified names.
+ * <p>
+ * This implementation tests ranges of at least {@value #VECTOR_THRESHOLD} characters by vector operations of the
+ * {@code jdk.incubator.vector} module, if that module has been resolved, for example by the
+ * {@code --add-modules jdk.incubator.vector} option of the {@code java} launcher. Otherwise characters are tested one
+ * at a time.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+final class NameCharacters
+{
+
+    /**
+     * Minimum number of characters to test by vector operations.
+     */
+    static final int VECTOR_THRESHOLD = 64;
+
+    /**
+     * Flag indicating vector operations are available.
+     */
+    private static final boolean VECTORIZED =
+        ModuleLayer.boot().findModule( "jdk.incubator.vector" ).isPresent() && VectorNameCharacters.isSupported();
+
+    private NameCharacters()
+    {
+        super();
+    }
+
+    /**
+     * Gets the index of the first character of a range of characters not being an ASCII letter, an ASCII digit, an
+     * underscore, a dollar sign or a period.
+     *
+     * @param text The string holding the characters to test.
+     * @param start The index of the first character to test, inclusive.
+     * @param end The index of the last character to test, exclusive.
+     *
+     * @return The index of the first character of {@code text} from {@code start} to {@code end - 1} not being an
+     * ASCII letter, an ASCII digit, an underscore, a dollar sign or a period or {@code end}, if there is no such
+     * character.
+     */
+    static int scan( final String text, final int start, final int end )
+    {
+        return VECTORIZED && end - start >= VECTOR_THRESHOLD
+                   ? VectorNameCharacters.scan( text, start, end )
+                   : JavaCharacters.scanNameCharacters( text, start, end );
+
+    }
+
+    /**
+     * Tests whether characters are tested by vector operations.
+     *
+     * @return {@code true}, if ranges of at least {@value #VECTOR_THRESHOLD} characters are tested by vector
+     * operations; {@code false}, else.
+     */
+    static boolean isVectorized()
+    {
+        return VECTORIZED;
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+import static jdk.incubator.vector.VectorOperators.EQ;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.LE;
+
+/**
+ * Characters of qualified names tested by vector operations.
+ * <p>
+ * Characters are copied to a buffer of the calling thread and tested as many at a time as the preferred vector
+ * species of the platform holds. The {@code jdk.incubator.vector} module is an incubating module whose API may
+ * change between Java releases. The {@link #isSupported()} method tests the API to link as expected, so that
+ * callers can fall back to testing characters one at a time otherwise.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ * @see NameCharacters
+ */
+final class VectorNameCharacters
+{
+
+    /**
+     * Maximum number of characters of buffers kept per thread.
+     */
+    private static final int MAXIMUM_BUFFER_LENGTH = 8192;
+
+    /**
+     * Buffers of characters per thread.
+     */
+    private static final ThreadLocal<char[]> BUFFERS = ThreadLocal.withInitial( ()  -> new char[ 256 ] );
+
+    private VectorNameCharacters()
+    {
+        super();
+    }
+
+    /**
+     * Tests whether vector operations link and compute as expected.
+     *
+     * @return {@code true}, if vector operations link and compute as expected; {@code false}, else.
+     */
+    static boolean isSupported()
+    {
+        try
+        {
+            final StringBuilder builder = new StringBuilder( 256 );
+
+            while ( builder.length() < 256 )
+            {
+                builder.append( "org.jomc.jls.Name_$09AZaz" );
+            }
+
+            final String text = builder.toString();
+            return scan( text, 0, text.length() ) == text.length()
+                       && scan( text + "<" + text, 0, 2 * text.length() + 1 ) == text.length();
+        }
+        catch ( final LinkageError e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the index of the first character of a range of characters not being an ASCII letter, an ASCII digit, an
+     * underscore, a dollar sign or a period.
+     *
+     * @param text The string holding the characters to test.
+     * @param start The index of the first character to test, inclusive.
+     * @param end The index of the last character to test, exclusive.
+     *
+     * @return The index of the first character of {@code text} from {@code start} to {@code end - 1} not being an
+     * ASCII letter, an ASCII digit, an underscore, a dollar sign or a period or {@code end}, if there is no such
+     * character.
+     */
+    static int scan( final String text, final int start, final int end )
+    {
+        final VectorSpecies<Short> species = ShortVector.SPECIES_PREFERRED;
+        final int length = end - start;
+        char[] chars = BUFFERS.get();
+
+        if ( chars.length < length )
+        {
+            chars = new char[ length ];
+
+            if ( length <= MAXIMUM_BUFFER_LENGTH )
+            {
+                BUFFERS.set( chars );
+            }
+        }
+
+        text.getChars( start, end, chars, 0 );
+        int i = 0;
+
+        for ( final int s0 = species.loopBound( length ); i < s0; i += species.length() )
+        {
+            final ShortVector v = ShortVector.fromCharArray( species, chars, i );
+            final ShortVector lowerCase = v.or( (short) 0x20 );
+            final VectorMask<Short> nameCharacters =
+                lowerCase.compare( GE, (short) 'a' ).and( lowerCase.compare( LE, (short) 'z' ) ).
+                    or( v.compare( GE, (short) '0' ).and( v.compare( LE, (short) '9' ) ) ).
+                    or( v.compare( EQ, (short) '_' ) ).
+                    or( v.compare( EQ, (short) '$' ) ).
+                    or( v.compare( EQ, (short) '.' ) );
+
+            if ( !nameCharacters.allTrue() )
+            {
+                return start + i + nameCharacters.not().firstTrue();
+            }
+        }
+
+        for ( ; i < length; i++ )
+        {
+            if ( !JavaCharacters.isNameCharacter( chars[i] ) )
+            {
+                return start + i;
+            }
+        }
+
+        return end;
+    }
+
+}
@@ -0,0 +1,274 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test cases for class {@code org.jomc.jls.BoundedCache}.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+public class BoundedCacheTest
+{
+
+    /**
+     * Creates a new {@code BoundedCacheTest} instance.
+     */
+    public BoundedCacheTest()
+    {
+        super();
+    }
+
+    @Test
+    public final void MaximumSize() throws Exception
+    {
+        final BoundedCache<String, String> cache = new BoundedCache<>( 8 );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            request( cache, "key" + i );
+            assertTrue( cache.size() <= 8L );
+        }
+
+        assertEquals( 8L, cache.size() );
+        assertEquals( 100L, cache.size() + cache.evictionCount() + cache.rejectionCount() );
+
+        try
+        {
+            new BoundedCache<>( 0 );
+            fail( "Expected 'IllegalArgumentException' not thrown." );
+        }
+        catch ( final IllegalArgumentException e )
+        {
+            System.out.println( e.toString() );
+        }
+    }
+
+    @Test
+    public final void PutIfAbsentReturnsCachedValues() throws Exception
+    {
+        final BoundedCache<String, String> cache = new BoundedCache<>( 4 );
+        final String value = new String( "value" );
+
+        assertNull( cache.putIfAbsent( "key", value ) );
+        assertSame( value, cache.putIfAbsent( "key", new String( "value" ) ) );
+        assertSame( value, cache.get( "key" ) );
+        assertEquals( 1L, cache.size() );
+
+        cache.clear();
+        assertEquals( 0L, cache.size() );
+        assertNull( cache.get( "key" ) );
+        assertNull( cache.putIfAbsent( "key", "value" ) );
+    }
+
+    @Test
+    public final void TiesEvictTheOldestEntry() throws Exception
+    {
+        final BoundedCache<String, String> cache = new BoundedCache<>( 4 );
+
+        for ( final String key : new String[]
+        {
+            "a", "b", "c", "d", "e"
+        } )
+        {
+            assertNull( cache.putIfAbsent( key, key ) );
+        }
+
+        assertNull( cache.get( "a" ) );
+
+        for ( final String key : new String[]
+        {
+            "b", "c", "d", "e"
+        } )
+        {
+            assertEquals( key, cache.get( key ) );
+        }
+
+        assertEquals( 4L, cache.size() );
+        assertEquals( 1L, cache.evictionCount() );
+        assertEquals( 0L, cache.rejectionCount() );
+    }
+
+    @Test
+    public final void FrequentKeysAreNotDisplacedByRareKeys() throws Exception
+    {
+        final BoundedCache<String, String> cache = new BoundedCache<>( 4 );
+        final String[] hot =
+        {
+            "hot0", "hot1", "hot2", "hot3"
+        };
+
+        for ( int i = 0; i < 5; i++ )
+        {
+            for ( final String key : hot )
+            {
+                request( cache, key );
+            }
+        }
+
+        for ( int i = 0; i < 20; i++ )
+        {
+            final String key = "cold" + i;
+            assertNull( cache.get( key ) );
+            assertSame( key, cache.putIfAbsent( key, key ) );
+            assertNull( cache.get( key ) );
+        }
+
+        for ( final String key : hot )
+        {
+            assertEquals( key, cache.get( key ) );
+        }
+
+        assertEquals( 4L, cache.size() );
+        assertEquals( 0L, cache.evictionCount() );
+        assertEquals( 20L, cache.rejectionCount() );
+    }
+
+    @Test
+    public final void RepeatedlyRequestedKeysAreAdmitted() throws Exception
+    {
+        final BoundedCache<String, String> cache = new BoundedCache<>( 4 );
+
+        for ( final String key : new String[]
+        {
+            "a", "b", "c", "d"
+        } )
+        {
+            request( cache, key );
+        }
+
+        for ( int i = 0; i < 3; i++ )
+        {
+            assertNull( cache.get( "e" ) );
+        }
+
+        assertNull( cache.putIfAbsent( "e", "e" ) );
+        assertEquals( "e", cache.get( "e" ) );
+        assertNull( cache.get( "a" ) );
+        assertEquals( 4L, cache.size() );
+        assertEquals( 1L, cache.evictionCount() );
+    }
+
+    @Test
+    public final void ConcurrentPutsStayWithinMaximumSize() throws Exception
+    {
+        final BoundedCache<String, String> cache = new BoundedCache<>( 64, 8 );
+        final ExecutorService executorService = Executors.newFixedThreadPool( 8 );
+
+        try
+        {
+            final List<Future<?>> futures = new ArrayList<>( 8 );
+
+            for ( int i = 0; i < 8; i++ )
+            {
+                final int thread = i;
+                futures.add( executorService.submit( ()  ->
+                {
+                    for ( int j = 0; j < 10000; j++ )
+                    {
+                        request( cache, "key" + ( ( j * 31 + thread ) % 1000 ) );
+                    }
+                } ) );
+            }
+
+            for ( final Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+
+        assertTrue( cache.size() <= 64L );
+    }
+
+    @Test
+    public final void SegmentsShareMaximumSize() throws Exception
+    {
+        final BoundedCache<String, String> cache = new BoundedCache<>( 64, 6 );
+
+        for ( int i = 0; i < 1000; i++ )
+        {
+            request( cache, "key" + i );
+        }
+
+        assertTrue( cache.size() <= 64L );
+        assertTrue( cache.size() > 32L );
+        assertEquals( 1000L, cache.size() + cache.evictionCount() + cache.rejectionCount() );
+
+        cache.clear();
+        assertEquals( 0L, cache.size() );
+
+        for ( int i = 0; i < 1000; i++ )
+        {
+            assertNull( cache.get( "key" + i ) );
+        }
+
+        for ( final int concurrencyLevel : new int[]
+        {
+            0, 65
+        } )
+        {
+            try
+            {
+                new BoundedCache<>( 64, concurrencyLevel );
+                fail( "Expected 'IllegalArgumentException' not thrown." );
+            }
+            catch ( final IllegalArgumentException e )
+            {
+                System.out.println( e.toString() );
+            }
+        }
+    }
+
+    private static void request( final BoundedCache<String, String> cache, final String key )
+    {
+        if ( cache.get( key ) == null )
+        {
+            cache.putIfAbsent( key, key );
+        }
+    }
+
+}
@@ -0,0 +1,307 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.jomc.jls.spi.Cache;
+import org.jomc.jls.spi.CacheKey;
+import org.jomc.jls.spi.CacheProvider;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test cases for class {@code org.jomc.jls.Caches}.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+public class CachesTest
+{
+
+    /**
+     * Name of the system property holding the maximum number of entries of caches bounded in size.
+     */
+    private static final String MAXIMUM_SIZE_PROPERTY = "org.jomc.jls.spi.CacheProvider.maximumSize";
+
+    /**
+     * Name of the system property holding the maximum number of entries of caches of parse failures.
+     */
+    private static final String FAILURES_MAXIMUM_SIZE_PROPERTY =
+        "org.jomc.jls.spi.CacheProvider.failures.maximumSize";
+
+    /**
+     * Creates a new {@code CachesTest} instance.
+     */
+    public CachesTest()
+    {
+        super();
+    }
+
+    @Test
+    public final void FindsBuiltInProviders() throws Exception
+    {
+        final ClassLoader classLoader = this.getClass().getClassLoader();
+        assertSame( DefaultCacheProvider.STRONG, Caches.findProvider( "strong", classLoader ) );
+        assertSame( DefaultCacheProvider.SOFT, Caches.findProvider( "soft", classLoader ) );
+        assertSame( DefaultCacheProvider.WEAK, Caches.findProvider( "WEAK", classLoader ) );
+        assertSame( DefaultCacheProvider.NONE, Caches.findProvider( "None", classLoader ) );
+
+        assertTrue( DefaultCacheProvider.STRONG.createCache( "strong" ) instanceof BoundedCache );
+        assertTrue( DefaultCacheProvider.SOFT.createCache( "soft" ) instanceof ReferenceCache );
+        assertTrue( DefaultCacheProvider.WEAK.createCache( "weak" ) instanceof ReferenceCache );
+
+        final Cache<CacheKey, String> none = DefaultCacheProvider.NONE.createCache( "none" );
+        final CacheKey key = CacheKey.of( "none", null );
+        assertEquals( "value", none.putIfAbsent( key, "value" ) );
+        assertNull( none.get( key ) );
+        assertEquals( 0L, none.size() );
+    }
+
+    @Test
+    public final void FindsProvidersByClassName() throws Exception
+    {
+        final ClassLoader classLoader = this.getClass().getClassLoader();
+        assertTrue( Caches.findProvider( TestCacheProvider.class.getName(), classLoader )
+                        instanceof TestCacheProvider );
+
+        assertInvalidProvider( "org.jomc.jls.NoSuchCacheProvider" );
+        assertInvalidProvider( String.class.getName() );
+        assertInvalidProvider( PrivateCacheProvider.class.getName() );
+    }
+
+    @Test
+    public final void FindsProvidersByServiceLoader() throws Exception
+    {
+        final Path directory = Files.createTempDirectory( "jomc-jls" );
+        final Path services = directory.resolve( "META-INF" + File.separator + "services" );
+        Files.createDirectories( services );
+        Files.write( services.resolve( CacheProvider.class.getName() ),
+                     Collections.singletonList( TestCacheProvider.class.getName() ), StandardCharsets.UTF_8 );
+
+        try ( final URLClassLoader classLoader =
+            new URLClassLoader( new URL[]
+            {
+                directory.toUri().toURL()
+            }, this.getClass().getClassLoader() ) )
+        {
+            assertTrue( Caches.findProvider( null, classLoader ) instanceof TestCacheProvider );
+            assertSame( DefaultCacheProvider.WEAK, Caches.findProvider( "weak", classLoader ) );
+        }
+        finally
+        {
+            Files.delete( services.resolve( CacheProvider.class.getName() ) );
+            Files.delete( services );
+            Files.delete( services.getParent() );
+            Files.delete( directory );
+        }
+
+        assertSame( DefaultCacheProvider.STRONG, Caches.findProvider( null, this.getClass().getClassLoader() ) );
+    }
+
+    @Test
+    public final void MaximumSize() throws Exception
+    {
+        final String maximumSize = System.getProperty( MAXIMUM_SIZE_PROPERTY );
+
+        try
+        {
+            System.clearProperty( MAXIMUM_SIZE_PROPERTY );
+            assertEquals( BoundedCache.DEFAULT_MAXIMUM_SIZE, Caches.getMaximumSize() );
+
+            System.setProperty( MAXIMUM_SIZE_PROPERTY, "2" );
+            assertEquals( 2, Caches.getMaximumSize() );
+
+            final Cache<CacheKey, String> cache = DefaultCacheProvider.STRONG.createCache( "strong" );
+
+            for ( int i = 0; i < 10; i++ )
+            {
+                final CacheKey key = CacheKey.of( Integer.toString( i ), null );
+                cache.get( key );
+                cache.putIfAbsent( key, key.getText() );
+            }
+
+            assertEquals( 2L, cache.size() );
+
+            for ( final String invalid : new String[]
+            {
+                "0", "-1", "ten", "", "2147483648"
+            } )
+            {
+                System.setProperty( MAXIMUM_SIZE_PROPERTY, invalid );
+
+                try
+                {
+                    Caches.getMaximumSize();
+                    fail( "Expected 'IllegalStateException' not thrown." );
+                }
+                catch ( final IllegalStateException e )
+                {
+                    assertNotNull( e.getMessage() );
+                    System.out.println( e.toString() );
+                }
+            }
+        }
+        finally
+        {
+            if ( maximumSize != null )
+            {
+                System.setProperty( MAXIMUM_SIZE_PROPERTY, maximumSize );
+            }
+            else
+            {
+                System.clearProperty( MAXIMUM_SIZE_PROPERTY );
+            }
+        }
+    }
+
+    @Test
+    public final void FailureCache() throws Exception
+    {
+        final String maximumSize = System.getProperty( FAILURES_MAXIMUM_SIZE_PROPERTY );
+        final CacheKey key = CacheKey.of( "failure", null );
+
+        try
+        {
+            System.clearProperty( FAILURES_MAXIMUM_SIZE_PROPERTY );
+            Cache<CacheKey, String> cache = Caches.createFailureCache();
+            assertEquals( "value", cache.putIfAbsent( key, "value" ) );
+            assertNull( cache.get( key ) );
+
+            System.setProperty( FAILURES_MAXIMUM_SIZE_PROPERTY, "0" );
+            cache = Caches.createFailureCache();
+            assertEquals( "value", cache.putIfAbsent( key, "value" ) );
+            assertNull( cache.get( key ) );
+
+            System.setProperty( FAILURES_MAXIMUM_SIZE_PROPERTY, "2" );
+            cache = Caches.createFailureCache();
+            assertNull( cache.putIfAbsent( key, "value" ) );
+            assertEquals( "value", cache.get( key ) );
+
+            for ( int i = 0; i < 10; i++ )
+            {
+                cache.putIfAbsent( CacheKey.of( Integer.toString( i ), null ), "value" );
+            }
+
+            assertEquals( 2L, cache.size() );
+
+            System.setProperty( FAILURES_MAXIMUM_SIZE_PROPERTY, "-1" );
+
+            try
+            {
+                Caches.createFailureCache();
+                fail( "Expected 'IllegalStateException' not thrown." );
+            }
+            catch ( final IllegalStateException e )
+            {
+                assertNotNull( e.getMessage() );
+                System.out.println( e.toString() );
+            }
+        }
+        finally
+        {
+            if ( maximumSize != null )
+            {
+                System.setProperty( FAILURES_MAXIMUM_SIZE_PROPERTY, maximumSize );
+            }
+            else
+            {
+                System.clearProperty( FAILURES_MAXIMUM_SIZE_PROPERTY );
+            }
+        }
+    }
+
+    private void assertInvalidProvider( final String name )
+    {
+        try
+        {
+            Caches.findProvider( name, this.getClass().getClassLoader() );
+            fail( "Expected 'IllegalStateException' not thrown." );
+        }
+        catch ( final IllegalStateException e )
+        {
+            assertNotNull( e.getMessage() );
+            System.out.println( e.toString() );
+        }
+    }
+
+    /**
+     * Cache provider found by class name or by the {@code ServiceLoader}.
+     */
+    public static final class TestCacheProvider implements CacheProvider
+    {
+
+        /**
+         * Creates a new {@code TestCacheProvider} instance.
+         */
+        public TestCacheProvider()
+        {
+            super();
+        }
+
+        @Override
+        public <V> Cache<CacheKey, V> createCache( final String name )
+        {
+            return DefaultCacheProvider.NONE.createCache( name );
+        }
+
+    }
+
+    /**
+     * Cache provider not providing a public no-argument constructor.
+     */
+    public static final class PrivateCacheProvider implements CacheProvider
+    {
+
+        private PrivateCacheProvider()
+        {
+            super();
+        }
+
+        @Override
+        public <V> Cache<CacheKey, V> createCache( final String name )
+        {
+            return DefaultCacheProvider.NONE.createCache( name );
+        }
+
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for class {@code org.jomc.jls.NameCharacters}.
+ * <p>
+ * Setting the {@code org.jomc.jls.test.vectorized} system property to {@code true} requires characters to be tested
+ * by vector operations, as is the case when testing the multi-release JAR with the {@code jdk.incubator.vector}
+ * module resolved.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+public class NameCharactersTest
+{
+
+    /**
+     * Characters of qualified names.
+     */
+    private static final String NAME_CHARACTERS =
+        "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_$.";
+
+    /**
+     * Creates a new {@code NameCharactersTest} instance.
+     */
+    public NameCharactersTest()
+    {
+        super();
+    }
+
+    @Test
+    public final void Vectorized() throws Exception
+    {
+        assertEquals( Boolean.getBoolean( "org.jomc.jls.test.vectorized" ), NameCharacters.isVectorized() );
+    }
+
+    @Test
+    public final void ScanFindsFirstInvalidCharacter() throws Exception
+    {
+        final char[] chars = new char[ 300 ];
+        final Random random = new Random( 42L );
+
+        for ( int i = 0; i < chars.length; i++ )
+        {
+            chars[i] = NAME_CHARACTERS.charAt( random.nextInt( NAME_CHARACTERS.length() ) );
+        }
+
+        final String text = new String( chars );
+        assertScan( text, 0, text.length(), text.length() );
+        assertScan( text, 7, 7, 7 );
+
+        for ( int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++ )
+        {
+            final int index = c % chars.length;
+            final char character = chars[index];
+            chars[index] = (char) c;
+            final String invalid = new String( chars );
+            chars[index] = character;
+
+            final int expected = NAME_CHARACTERS.indexOf( c ) >= 0 ? chars.length : index;
+            assertScan( invalid, 0, invalid.length(), expected );
+            assertScan( invalid, index, invalid.length(), expected );
+            assertScan( invalid, 0, index + 1, Math.min( expected, index + 1 ) );
+        }
+    }
+
+    private static void assertScan( final String text, final int start, final int end, final int expected )
+    {
+        assertEquals( expected, JavaCharacters.scanNameCharacters( text, start, end ) );
+        assertEquals( expected, NameCharacters.scan( text, start, end ) );
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls;
+
+import java.lang.ref.WeakReference;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for class {@code org.jomc.jls.ReferenceCache}.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+public class ReferenceCacheTest
+{
+
+    /**
+     * Creates a new {@code ReferenceCacheTest} instance.
+     */
+    public ReferenceCacheTest()
+    {
+        super();
+    }
+
+    @Test
+    public final void PutIfAbsentReturnsCachedValues() throws Exception
+    {
+        for ( final boolean soft : new boolean[]
+        {
+            true, false
+        } )
+        {
+            final ReferenceCache<String, Object> cache = new ReferenceCache<>( soft );
+            final Object value = new Object();
+
+            assertNull( cache.putIfAbsent( "key", value ) );
+            assertSame( value, cache.putIfAbsent( "key", new Object() ) );
+            assertSame( value, cache.get( "key" ) );
+            assertEquals( 1L, cache.size() );
+
+            cache.clear();
+            assertNull( cache.get( "key" ) );
+            assertEquals( 0L, cache.size() );
+        }
+    }
+
+    @Test
+    public final void ValuesAreReclaimedOneByOne() throws Exception
+    {
+        final ReferenceCache<String, Object> cache = new ReferenceCache<>( false );
+        final Object first = new Object();
+        final Object third = new Object();
+
+        assertNull( cache.putIfAbsent( "first", first ) );
+        assertNull( cache.putIfAbsent( "second", new Object() ) );
+        assertNull( cache.putIfAbsent( "third", third ) );
+
+        final WeakReference<Object> second = new WeakReference<>( cache.get( "second" ) );
+        reclaim( second );
+
+        for ( int i = 0; i < 100 && cache.reclamationCount() == 0L; i++ )
+        {
+            Thread.sleep( 10L );
+        }
+
+        assertEquals( 1L, cache.reclamationCount() );
+        assertEquals( 2L, cache.size() );
+        assertNull( cache.get( "second" ) );
+        assertSame( first, cache.get( "first" ) );
+        assertSame( third, cache.get( "third" ) );
+    }
+
+    @Test
+    public final void ReclaimedValuesAreReplaced() throws Exception
+    {
+        final ReferenceCache<String, Object> cache = new ReferenceCache<>( false );
+        final Object first = new Object();
+
+        assertNull( cache.putIfAbsent( "first", first ) );
+        assertNull( cache.putIfAbsent( "second", new Object() ) );
+
+        final WeakReference<Object> second = new WeakReference<>( cache.get( "second" ) );
+        reclaim( second );
+
+        // Replaces the entry of the reclaimed value whether or not its reference has been enqueued yet.
+        final Object replacement = new Object();
+        assertNull( cache.putIfAbsent( "second", replacement ) );
+        assertSame( replacement, cache.get( "second" ) );
+        assertSame( replacement, cache.putIfAbsent( "second", new Object() ) );
+        assertSame( first, cache.get( "first" ) );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            Thread.sleep( 10L );
+            assertEquals( 2L, cache.size() );
+        }
+
+        // The replaced entry is counted once, whether replaced or removed from the reference queue.
+        assertEquals( 1L, cache.reclamationCount() );
+        assertSame( replacement, cache.get( "second" ) );
+    }
+
+    private static void reclaim( final WeakReference<Object> reference ) throws InterruptedException
+    {
+        for ( int i = 0; i < 100 && reference.get() != null; i++ )
+        {
+            System.gc();
+            Thread.sleep( 10L );
+        }
+
+        assertTrue( "Value not reclaimed.", reference.get() == null );
+    }
+
+}
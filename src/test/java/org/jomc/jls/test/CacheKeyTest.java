@@ -0,0 +1,123 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.CharBuffer;
+import org.jomc.jls.JavaIdentifier;
+import org.jomc.jls.spi.CacheKey;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test cases for class {@code org.jomc.jls.spi.CacheKey}.
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+public class CacheKeyTest
+{
+
+    /**
+     * Creates a new {@code CacheKeyTest} instance.
+     */
+    public CacheKeyTest()
+    {
+        super();
+    }
+
+    @Test
+    public final void ProbesEqualImmutableKeys() throws Exception
+    {
+        final CharBuffer buffer = CharBuffer.wrap( "Map<java.util.List, Object>".toCharArray() );
+        final CacheKey probe = CacheKey.probe( buffer, 4, 18, null );
+        final CacheKey key = CacheKey.of( "java.util.List", null );
+
+        assertEquals( key, probe );
+        assertEquals( probe, key );
+        assertEquals( key.hashCode(), probe.hashCode() );
+        assertEquals( 14, probe.length() );
+        assertEquals( "java.util.List", probe.getText() );
+        assertNull( probe.getQualifier() );
+
+        assertFalse( key.equals( CacheKey.of( "java.util.List", JavaIdentifier.NormalizationMode.CAMEL_CASE ) ) );
+        assertSame( JavaIdentifier.NormalizationMode.CAMEL_CASE,
+                    CacheKey.of( "List", JavaIdentifier.NormalizationMode.CAMEL_CASE ).getQualifier() );
+
+    }
+
+    @Test
+    public final void StableKeysDoNotReferToProbedSequences() throws Exception
+    {
+        final CharBuffer buffer = CharBuffer.wrap( "Map<java.util.List, Object>".toCharArray() );
+        final CacheKey probe = CacheKey.probe( buffer, 4, 18, null );
+        final CacheKey key = probe.toStableKey();
+
+        assertSame( key, key.toStableKey() );
+
+        buffer.put( 4, 'J' );
+
+        assertFalse( key.equals( probe ) );
+        assertEquals( CacheKey.of( "java.util.List", null ), key );
+        assertEquals( "Java.util.List", probe.getText() );
+    }
+
+    @Test
+    public final void SerializesImmutableKeys() throws Exception
+    {
+        final CharBuffer buffer = CharBuffer.wrap( "Map<java.util.List, Object>".toCharArray() );
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try ( final ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+        {
+            out.writeObject( CacheKey.probe( buffer, 4, 18, JavaIdentifier.NormalizationMode.LOWER_CASE ) );
+        }
+
+        buffer.put( 4, 'J' );
+
+        try ( final ObjectInputStream in =
+            new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+        {
+            final CacheKey expected = CacheKey.of( "java.util.List", JavaIdentifier.NormalizationMode.LOWER_CASE );
+            final CacheKey key = (CacheKey) in.readObject();
+            assertEquals( expected, key );
+            assertEquals( expected.hashCode(), key.hashCode() );
+            assertSame( key, key.toStableKey() );
+        }
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ *   Copyright (C) 2012 Christian Schulte <cs@schulte.it>
+ *   All rights reserved.
+ *
+ *   Redistribution and use in source and binary forms, with or without
+ *   modification, are permitted provided that the following conditions
+ *   are met:
+ *
+ *     o Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     o Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *
+ *   THIS SOFTWARE IS PROVIDED "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *   INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY
+ *   AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ *   THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *   INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ *   NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ *   DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ *   THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *   (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+ *   THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *   $JOMC$
+ *
+ */
+package org.jomc.jls.test;
+
+import java.util.EnumSet;
+import org.jomc.jls.JavaIdentifier;
+import org.jomc.jls.JavaIllegalArgumentException;
+import org.jomc.jls.JavaParseException;
+import org.jomc.jls.JavaTypeName;
+import org.jomc.jls.ParseResult;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test cases for the caches of parse failures.
+ * <p>
+ * Parse failures are cached only if the {@code org.jomc.jls.spi.CacheProvider.failures.maximumSize} system property
+ * is set to a positive integer. Repeated failures are expected to be reported identically whether or not they are
+ * cached.
+ * </p>
+ *
+ * @author <a href="mailto:cs@schulte.it">Christian Schulte</a>
+ * @version $JOMC$
+ */
+public class FailureCacheTest
+{
+
+    /**
+     * Flag indicating parse failures are cached.
+     */
+    private static final boolean ENABLED =
+        Integer.getInteger( "org.jomc.jls.spi.CacheProvider.failures.maximumSize", 0 ) > 0;
+
+    /**
+     * Creates a new {@code FailureCacheTest} instance.
+     */
+    public FailureCacheTest()
+    {
+        super();
+    }
+
+    @Test
+    public final void RepeatedTypeNameFailures() throws Exception
+    {
+        for ( final String text : new String[]
+        {
+            "java.util.List<", "int[", "java.util.Map<String, Object>>", "java..lang.Object", "List<@>", "", "class"
+        } )
+        {
+            final JavaParseException failure = parseTypeName( text );
+            final long hits = JavaTypeName.getCacheStatistics().getHitCount();
+
+            assertSameFailure( failure, parseTypeName( text ) );
+            assertEquals( ENABLED, JavaTypeName.getCacheStatistics().getHitCount() > hits );
+
+            try
+            {
+                JavaTypeName.valueOf( text );
+                fail( "Expected 'IllegalArgumentException' not thrown parsing '" + text + "'." );
+            }
+            catch ( final JavaIllegalArgumentException e )
+            {
+                assertSameFailure( failure, e.getCause() );
+                assertEquals( failure.getMessage(), e.getMessage() );
+            }
+
+            final ParseResult<JavaTypeName> result = JavaTypeName.tryParse( text );
+            assertSameFailure( failure, result );
+            assertFalse( JavaTypeName.isValid( text ) );
+
+            if ( ENABLED )
+            {
+                assertSame( result, JavaTypeName.tryParse( text ) );
+            }
+        }
+    }
+
+    @Test
+    public final void RepeatedIdentifierFailures() throws Exception
+    {
+        for ( final String text : new String[]
+        {
+            "", "1st", "class", "java.lang", "a b", "\u00e4@"
+        } )
+        {
+            final JavaParseException failure = parseIdentifier( text );
+            final long hits = JavaIdentifier.getCacheStatistics().getHitCount();
+
+            assertSameFailure( failure, parseIdentifier( text ) );
+            assertEquals( ENABLED, JavaIdentifier.getCacheStatistics().getHitCount() > hits );
+
+            try
+            {
+                JavaIdentifier.valueOf( text );
+                fail( "Expected 'IllegalArgumentException' not thrown parsing '" + text + "'." );
+            }
+            catch ( final JavaIllegalArgumentException e )
+            {
+                assertSameFailure( failure, e.getCause() );
+                assertEquals( failure.getMessage(), e.getMessage() );
+            }
+
+            final ParseResult<JavaIdentifier> result = JavaIdentifier.tryParse( text );
+            assertSameFailure( failure, result );
+            assertFalse( JavaIdentifier.isValid( text ) );
+
+            if ( ENABLED )
+            {
+                assertSame( result, JavaIdentifier.tryParse( text ) );
+            }
+        }
+    }
+
+    @Test
+    public final void RepeatedNormalizationFailures() throws Exception
+    {
+        for ( final String text : new String[]
+        {
+            " - ", "", "  "
+        } )
+        {
+            final JavaParseException failure = normalize( text );
+            final long hits = JavaIdentifier.getCacheStatistics().getHitCount();
+
+            assertSameFailure( failure, normalize( text ) );
+            assertEquals( ENABLED, JavaIdentifier.getCacheStatistics().getHitCount() > hits );
+
+            try
+            {
+                JavaIdentifier.normalizeAll( text, EnumSet.of( JavaIdentifier.NormalizationMode.CAMEL_CASE ) );
+                fail( "Expected 'ParseException' not thrown normalizing '" + text + "'." );
+            }
+            catch ( final JavaParseException e )
+            {
+                assertSameFailure( failure, e );
+            }
+        }
+    }
+
+    private static JavaParseException parseTypeName( final String text )
+    {
+        try
+        {
+            JavaTypeName.parse( text );
+            fail( "Expected 'ParseException' not thrown parsing '" + text + "'." );
+            return null;
+        }
+        catch ( final JavaParseException e )
+        {
+            return e;
+        }
+    }
+
+    private static JavaParseException parseIdentifier( final String text )
+    {
+        try
+        {
+            JavaIdentifier.parse( text );
+            fail( "Expected 'ParseException' not thrown parsing '" + text + "'." );
+            return null;
+        }
+        catch ( final JavaParseException e )
+        {
+            return e;
+        }
+    }
+
+    private static JavaParseException normalize( final String text )
+    {
+        try
+        {
+            JavaIdentifier.normalize( text, JavaIdentifier.NormalizationMode.CAMEL_CASE );
+            fail( "Expected 'ParseException' not thrown normalizing '" + text + "'." );
+            return null;
+        }
+        catch ( final JavaParseException e )
+        {
+            return e;
+        }
+    }
+
+    private static void assertSameFailure( final JavaParseException expected, final JavaParseException actual )
+    {
+        assertEquals( expected.getErrorCode(), actual.getErrorCode() );
+        assertEquals( expected.getErrorOffset(), actual.getErrorOffset() );
+        assertEquals( expected.getInput(), actual.getInput() );
+        assertEquals( expected.getToken(), actual.getToken() );
+        assertEquals( expected.getMessage(), actual.getMessage() );
+    }
+
+    private static void assertSameFailure( final JavaParseException expected, final ParseResult<?> actual )
+    {
+        assertFalse( actual.isValid() );
+        assertEquals( expected.getErrorCode(), actual.getErrorCode().get() );
+        assertEquals( expected.getErrorOffset(), actual.getErrorIndex() );
+        assertTrue( !actual.getValue().isPresent() );
+    }
+
+}
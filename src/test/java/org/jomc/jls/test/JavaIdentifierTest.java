@@ -34,10 +34,23 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.IntStream;
+import org.jomc.jls.CacheStatistics;
 import org.jomc.jls.JavaIdentifier;
+import org.jomc.jls.ParseErrorCode;
+import org.jomc.jls.ParseResult;
 import org.junit.Test;
 import static org.jomc.jls.JavaIdentifier.NormalizationMode.CAMEL_CASE;
 import static org.jomc.jls.JavaIdentifier.NormalizationMode.CONSTANT_NAME_CONVENTION;
@@ -46,7 +59,10 @@ import static org.jomc.jls.JavaIdentifier.NormalizationMode.METHOD_NAME_CONVENTI
 import static org.jomc.jls.JavaIdentifier.NormalizationMode.UPPER_CASE;
 import static org.jomc.jls.JavaIdentifier.NormalizationMode.VARIABLE_NAME_CONVENTION;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -456,6 +472,189 @@ public class JavaIdentifierTest
         assertInvalidJavaIdentifier( "   ", VARIABLE_NAME_CONVENTION );
     }
 
+    @Test
+    public final void NormalizedTextSharesInstanceOfTextToNormalize() throws Exception
+    {
+        assertSame( JavaIdentifier.normalize( "shared instance", CAMEL_CASE ),
+                    JavaIdentifier.normalize( "SharedInstance", CAMEL_CASE ) );
+
+        assertSame( JavaIdentifier.normalize( "SharedInstance", CONSTANT_NAME_CONVENTION ),
+                    JavaIdentifier.normalize( "SHAREDINSTANCE", CONSTANT_NAME_CONVENTION ) );
+
+    }
+
+    @Test
+    public final void NormalizedTextIsReturnedAsIs() throws Exception
+    {
+        final JavaIdentifier parsed = JavaIdentifier.parse( "normalizedText" );
+        assertSame( parsed, JavaIdentifier.normalize( "normalizedText", METHOD_NAME_CONVENTION ) );
+        assertSame( parsed, JavaIdentifier.normalize( "normalizedText", VARIABLE_NAME_CONVENTION ) );
+        assertEquals( "NORMALIZED_TEXT", JavaIdentifier.normalize( "NORMALIZED_TEXT", CONSTANT_NAME_CONVENTION ).
+                      toString() );
+
+        assertEquals( "normalized_text", JavaIdentifier.normalize( "normalized_text", LOWER_CASE ).toString() );
+        assertEquals( "NormalizedText", JavaIdentifier.normalize( "NormalizedText", CAMEL_CASE ).toString() );
+        assertEquals( "normalizedtext", JavaIdentifier.normalize( "normalizedTEXT", METHOD_NAME_CONVENTION ).
+                      toString() );
+
+        assertEquals( "_int", JavaIdentifier.normalize( "int", METHOD_NAME_CONVENTION ).toString() );
+        assertEquals( "NORMALIZED_TEXT", JavaIdentifier.normalize( "NORMALIZED__TEXT_", UPPER_CASE ).toString() );
+    }
+
+    @Test
+    public final void NormalizeAll() throws Exception
+    {
+        final Set<JavaIdentifier.NormalizationMode> modes = EnumSet.allOf( JavaIdentifier.NormalizationMode.class );
+
+        for ( final String text : new String[]
+        {
+            "normalize all", "NORMALIZE_ALL", "normalizeAll", "  _normalize-all ", "int", "1st\u00e4Word"
+        } )
+        {
+            final Map<JavaIdentifier.NormalizationMode, JavaIdentifier> javaIdentifiers =
+                JavaIdentifier.normalizeAll( text, modes );
+
+            assertEquals( modes, javaIdentifiers.keySet() );
+
+            for ( final JavaIdentifier.NormalizationMode mode : modes )
+            {
+                assertSame( JavaIdentifier.normalize( text, mode ), javaIdentifiers.get( mode ) );
+            }
+        }
+
+        assertTrue( JavaIdentifier.normalizeAll( "normalize all", EnumSet.noneOf(
+                    JavaIdentifier.NormalizationMode.class ) ).isEmpty() );
+
+        try
+        {
+            JavaIdentifier.normalizeAll( " - ", modes );
+            fail( "Expected 'ParseException' not thrown." );
+        }
+        catch ( final ParseException e )
+        {
+            assertNotNull( e.getMessage() );
+            System.out.println( e.getMessage() );
+        }
+
+        assertNullPointerException( ()  -> JavaIdentifier.normalizeAll( null, modes ) );
+        assertNullPointerException( ()  -> JavaIdentifier.normalizeAll( "", null ) );
+    }
+
+    @Test
+    public final void WordsAndConversions() throws Exception
+    {
+        final JavaIdentifier javaIdentifier = JavaIdentifier.parse( "fooBarBaz" );
+        assertEquals( Arrays.asList( "foo", "Bar", "Baz" ), javaIdentifier.words() );
+        assertEquals( Arrays.asList( "FOO", "BAR", "BAZ" ), JavaIdentifier.parse( "FOO_BAR_BAZ" ).words() );
+        assertEquals( Arrays.asList( "parse", "URL", "String" ), JavaIdentifier.parse( "parseURLString" ).words() );
+        assertEquals( Arrays.asList( "foo", "1" ), JavaIdentifier.parse( "_1foo$1" ).words() );
+        assertTrue( JavaIdentifier.parse( "$" ).words().isEmpty() );
+
+        assertEquals( "FOO_BAR_BAZ", javaIdentifier.as( CONSTANT_NAME_CONVENTION ).toString() );
+        assertEquals( "foo_bar_baz", javaIdentifier.as( LOWER_CASE ).toString() );
+        assertEquals( "FooBarBaz", javaIdentifier.as( CAMEL_CASE ).toString() );
+        assertSame( javaIdentifier, javaIdentifier.as( METHOD_NAME_CONVENTION ) );
+        assertSame( javaIdentifier.as( UPPER_CASE ), javaIdentifier.as( UPPER_CASE ) );
+        assertSame( javaIdentifier, JavaIdentifier.parse( "FOO_BAR_BAZ" ).as( VARIABLE_NAME_CONVENTION ) );
+        assertEquals( "_int", JavaIdentifier.parse( "INT" ).as( METHOD_NAME_CONVENTION ).toString() );
+
+        for ( final JavaIdentifier.NormalizationMode mode : JavaIdentifier.NormalizationMode.values() )
+        {
+            assertEquals( JavaIdentifier.normalize( "foo Bar Baz", mode ), javaIdentifier.as( mode ) );
+        }
+
+        try
+        {
+            JavaIdentifier.parse( "$" ).as( CAMEL_CASE );
+            fail( "Expected 'ParseException' not thrown." );
+        }
+        catch ( final ParseException e )
+        {
+            assertNotNull( e.getMessage() );
+            System.out.println( e.getMessage() );
+        }
+
+        assertNullPointerException( ()  -> javaIdentifier.as( null ) );
+    }
+
+    @Test
+    public final void CacheStatistics() throws Exception
+    {
+        CacheStatistics statistics = JavaIdentifier.getCacheStatistics();
+        final JavaIdentifier javaIdentifier = JavaIdentifier.normalize( "cacheStatisticsNormalized",
+                                                                          VARIABLE_NAME_CONVENTION );
+
+        assertEquals( statistics.getMissCount() + 1L, JavaIdentifier.getCacheStatistics().getMissCount() );
+
+        statistics = JavaIdentifier.getCacheStatistics();
+        assertSame( javaIdentifier, JavaIdentifier.normalize( "cacheStatisticsNormalized", METHOD_NAME_CONVENTION ) );
+        assertEquals( statistics.getHitCount() + 1L, JavaIdentifier.getCacheStatistics().getHitCount() );
+
+        statistics = JavaIdentifier.getCacheStatistics();
+        final JavaIdentifier converted = javaIdentifier.as( CONSTANT_NAME_CONVENTION );
+        assertEquals( statistics.getMissCount() + 1L, JavaIdentifier.getCacheStatistics().getMissCount() );
+
+        statistics = JavaIdentifier.getCacheStatistics();
+        assertSame( converted, javaIdentifier.as( CONSTANT_NAME_CONVENTION ) );
+        assertEquals( statistics.getHitCount() + 1L, JavaIdentifier.getCacheStatistics().getHitCount() );
+        assertEquals( statistics.getMissCount(), JavaIdentifier.getCacheStatistics().getMissCount() );
+    }
+
+    @Test
+    public final void ConcurrentParsesShareOutcome() throws Exception
+    {
+        final int threads = Runtime.getRuntime().availableProcessors() * 4;
+        final ExecutorService executorService = Executors.newFixedThreadPool( threads );
+
+        try
+        {
+            final List<Future<JavaIdentifier>> identifiers = new ArrayList<>( threads );
+            final List<Future<JavaIdentifier>> failures = new ArrayList<>( threads );
+
+            for ( int i = 0; i < threads; i++ )
+            {
+                if ( i % 2 == 0 )
+                {
+                    identifiers.add( executorService.submit( ()  -> JavaIdentifier.parse( "concurrentParse" ) ) );
+                    failures.add( executorService.submit( ()  -> JavaIdentifier.parse( "concurrent parse" ) ) );
+                }
+                else
+                {
+                    identifiers.add( executorService.submit( ()  -> JavaIdentifier.valueOf( "concurrentParse" ) ) );
+                    failures.add( executorService.submit( ()  -> JavaIdentifier.valueOf( "concurrent parse" ) ) );
+                }
+            }
+
+            final JavaIdentifier expected = identifiers.get( 0 ).get();
+
+            for ( final Future<JavaIdentifier> identifier : identifiers )
+            {
+                assertSame( expected, identifier.get() );
+            }
+
+            for ( int i = 0; i < threads; i++ )
+            {
+                try
+                {
+                    failures.get( i ).get();
+                    fail( "Expected parse failure not reported." );
+                }
+                catch ( final ExecutionException e )
+                {
+                    assertTrue( i % 2 == 0
+                                    ? e.getCause() instanceof ParseException
+                                    : e.getCause() instanceof IllegalArgumentException );
+
+                    assertNotNull( e.getCause().getMessage() );
+                }
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public final void Serializable() throws Exception
     {
@@ -477,6 +676,60 @@ public class JavaIdentifierTest
         }
     }
 
+    @Test
+    public final void TryParse() throws Exception
+    {
+        assertSame( JavaIdentifier.valueOf( "tryParse" ), JavaIdentifier.tryParse( "tryParse" ).getValue().get() );
+
+        final ParseResult<JavaIdentifier> invalidCharacter = JavaIdentifier.tryParse( "try Parse" );
+        assertFalse( invalidCharacter.isValid() );
+        assertEquals( ParseErrorCode.INVALID_CHARACTER, invalidCharacter.getErrorCode().get() );
+        assertEquals( 3, invalidCharacter.getErrorIndex() );
+
+        assertEquals( ParseErrorCode.INVALID_EMPTY_STRING, JavaIdentifier.tryParse( "" ).getErrorCode().get() );
+        assertEquals( ParseErrorCode.INVALID_WORD, JavaIdentifier.tryParse( "class" ).getErrorCode().get() );
+        assertTrue( JavaIdentifier.isValid( "isValid" ) );
+        assertFalse( JavaIdentifier.isValid( "is Valid" ) );
+    }
+
+    @Test
+    public final void ParseCharSequenceRange() throws Exception
+    {
+        final StringBuilder builder = new StringBuilder( "java.lang.String" );
+        assertSame( JavaIdentifier.valueOf( "lang" ), JavaIdentifier.parse( builder, 5, 9 ) );
+
+        try
+        {
+            JavaIdentifier.parse( builder, 5, 10 );
+            fail( "Expected 'ParseException' not thrown." );
+        }
+        catch ( final ParseException e )
+        {
+            assertEquals( 4, e.getErrorOffset() );
+        }
+    }
+
+    @Test
+    public final void CharacterClassesOfAllCodePoints() throws Exception
+    {
+        for ( int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++ )
+        {
+            final String character = new String( Character.toChars( codePoint ) );
+            final boolean separator =
+                !( Character.isJavaIdentifierPart( codePoint ) && Character.isLetterOrDigit( codePoint ) );
+
+            assertEquals( Integer.toHexString( codePoint ), Character.isJavaIdentifierStart( codePoint ),
+                          JavaIdentifier.isValid( character ) );
+
+            assertEquals( Integer.toHexString( codePoint ), Character.isJavaIdentifierPart( codePoint ),
+                          JavaIdentifier.isValid( "a" + character ) );
+
+            assertEquals( Integer.toHexString( codePoint ), separator,
+                          "a_b".equals( JavaIdentifier.normalize( "a" + character + "b", LOWER_CASE ).toString() ) );
+
+        }
+    }
+
     private static void assertInvalidJavaIdentifier( final String identifier )
     {
         try
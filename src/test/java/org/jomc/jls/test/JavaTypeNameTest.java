@@ -30,16 +30,34 @@
  */
 package org.jomc.jls.test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jomc.jls.CacheStatistics;
+import org.jomc.jls.JavaIllegalArgumentException;
+import org.jomc.jls.JavaParseException;
 import org.jomc.jls.JavaTypeName;
+import org.jomc.jls.ParseErrorCode;
+import org.jomc.jls.ParseResult;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -555,6 +573,38 @@ public class JavaTypeNameTest
 
     }
 
+    @Test
+    public final void ConcurrentlyParsedTypeNamesShareInstance() throws Exception
+    {
+        final int threads = Runtime.getRuntime().availableProcessors() * 4;
+        final ExecutorService executorService = Executors.newFixedThreadPool( threads );
+
+        try
+        {
+            final List<Future<JavaTypeName>> futures = new ArrayList<>( threads );
+
+            for ( int i = 0; i < threads; i++ )
+            {
+                final String text = i % 2 == 0
+                                        ? "validpackagename.Concurrent<validpackagename.Concurrent<?>>"
+                                        : "validpackagename.Concurrent < validpackagename.Concurrent < ? > >";
+
+                futures.add( executorService.submit( ()  -> JavaTypeName.parse( text ) ) );
+            }
+
+            final JavaTypeName expected = futures.get( 0 ).get();
+
+            for ( final Future<JavaTypeName> future : futures )
+            {
+                assertSame( expected, future.get() );
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public final void Serializable() throws Exception
     {
@@ -588,6 +638,381 @@ public class JavaTypeNameTest
         }
     }
 
+    @Test
+    public final void DeserializedTypeNameIsCanonical() throws Exception
+    {
+        final JavaTypeName javaTypeName = JavaTypeName.valueOf( "java.util.List<java.lang.String>" );
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try ( final ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+        {
+            out.writeObject( javaTypeName );
+        }
+
+        try ( final ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+        {
+            assertSame( javaTypeName, in.readObject() );
+        }
+
+        assertSame( javaTypeName, JavaTypeName.valueOf( "java.util.List < java.lang.String >" ) );
+    }
+
+    @Test
+    public final void CacheStatistics() throws Exception
+    {
+        JavaTypeName.valueOf( "validpackagename.CacheStatistics" );
+        final CacheStatistics statistics = JavaTypeName.getCacheStatistics();
+        assertEquals( JavaTypeName.class.getName(), statistics.getName() );
+        assertTrue( statistics.getSize() > 0L );
+        assertTrue( statistics.getEstimatedRetainedBytes() > 0L );
+        assertEquals( statistics.getHitLatencyHistogram().length, statistics.getMissLatencyHistogram().length );
+        assertTrue( statistics.getMissCount() > 0L );
+        System.out.println( statistics );
+
+        JavaTypeName.valueOf( "validpackagename.CacheStatistics" );
+        assertTrue( JavaTypeName.getCacheStatistics().getHitCount() > statistics.getHitCount() );
+        assertTrue( JavaTypeName.getCacheStatistics().getHitRate() > 0.0D );
+    }
+
+    @Test
+    public final void TryParse() throws Exception
+    {
+        final ParseResult<JavaTypeName> valid = JavaTypeName.tryParse( "java.util.List<java.lang.String>" );
+        assertTrue( valid.isValid() );
+        assertSame( JavaTypeName.valueOf( "java.util.List<java.lang.String>" ), valid.getValue().get() );
+        assertFalse( valid.getErrorCode().isPresent() );
+        assertEquals( -1, valid.getErrorIndex() );
+
+        final ParseResult<JavaTypeName> invalid = JavaTypeName.tryParse( "java.util.List<" );
+        assertFalse( invalid.isValid() );
+        assertFalse( invalid.getValue().isPresent() );
+        assertEquals( ParseErrorCode.UNEXPECTED_END_OF_INPUT, invalid.getErrorCode().get() );
+        assertEquals( 15, invalid.getErrorIndex() );
+    }
+
+    @Test
+    public final void IsValidDoesNotCache() throws Exception
+    {
+        final long size = JavaTypeName.getCacheStatistics().getSize();
+        assertTrue( JavaTypeName.isValid( "validpackagename.IsValid" ) );
+        assertFalse( JavaTypeName.isValid( "validpackagename.IsValid<" ) );
+        assertFalse( JavaTypeName.isValid( "validpackagename.IsValid#" ) );
+        assertEquals( size, JavaTypeName.getCacheStatistics().getSize() );
+    }
+
+    @Test
+    public final void LongTypeNames() throws Exception
+    {
+        final StringBuilder qualifiedName = new StringBuilder( 100000 );
+        final StringBuilder parameterizedName = new StringBuilder( 100000 ).append( "validpackagename.Map<" );
+        int arguments = 0;
+
+        while ( qualifiedName.length() < 100000 )
+        {
+            qualifiedName.append( "validpackagename" ).append( qualifiedName.length() ).append( '.' );
+        }
+
+        while ( parameterizedName.length() < 100000 )
+        {
+            parameterizedName.append( "validpackagename.Argument" ).append( arguments++ ).append( ", " );
+        }
+
+        qualifiedName.append( "ReferenceType" );
+        parameterizedName.setLength( parameterizedName.length() - 2 );
+        parameterizedName.append( '>' );
+
+        final JavaTypeName longQualifiedName = JavaTypeName.parse( qualifiedName.toString() );
+        assertEquals( qualifiedName.toString(), longQualifiedName.getQualifiedName() );
+        assertEquals( "ReferenceType", longQualifiedName.getSimpleName() );
+        assertEquals( qualifiedName.substring( 0, qualifiedName.length() - "ReferenceType".length() - 1 ),
+                      longQualifiedName.getPackageName() );
+
+        final JavaTypeName longParameterizedName = JavaTypeName.parse( parameterizedName.toString() );
+        assertEquals( arguments, longParameterizedName.getArguments().size() );
+        assertEquals( parameterizedName.toString(), longParameterizedName.getName( true ) );
+    }
+
+    @Test
+    public final void IsValidQualifiedNames() throws Exception
+    {
+        final StringBuilder qualifiedName = new StringBuilder( 1000 );
+
+        while ( qualifiedName.length() < 1000 )
+        {
+            qualifiedName.append( "valid_package$name" ).append( qualifiedName.length() ).append( '.' );
+        }
+
+        final String prefix = qualifiedName.toString();
+        final String[] names =
+        {
+            "", "int", "void", "java.lang.Object", prefix + "ReferenceType", prefix + "int", prefix + "class",
+            prefix + "0ReferenceType", prefix + ".ReferenceType", prefix, "int." + prefix + "ReferenceType",
+            prefix + "Reference Type", prefix + "ReferenceType[]", prefix + "Reference\u00e4Type",
+            prefix + "Reference-Type"
+        };
+
+        for ( final String name : names )
+        {
+            final boolean valid = JavaTypeName.isValid( name );
+            assertEquals( name, JavaTypeName.tryParse( name ).isValid(), valid );
+            assertEquals( name, valid, JavaTypeName.isValid( name ) );
+        }
+
+        assertTrue( JavaTypeName.isValid( prefix + "ReferenceType" ) );
+        assertFalse( JavaTypeName.isValid( prefix + "class" ) );
+    }
+
+    @Test
+    public final void ParseCharSequenceRange() throws Exception
+    {
+        final CharBuffer buffer = CharBuffer.wrap( "Map<java.util.List<java.lang.String>, Object>" );
+        assertSame( JavaTypeName.valueOf( "java.util.List<java.lang.String>" ), JavaTypeName.parse( buffer, 4, 36 ) );
+        assertSame( JavaTypeName.valueOf( "Object" ), JavaTypeName.parse( buffer, 38, 44 ) );
+
+        try
+        {
+            JavaTypeName.parse( buffer, 4, 19 );
+            fail( "Expected 'ParseException' not thrown." );
+        }
+        catch ( final JavaParseException e )
+        {
+            assertEquals( "java.util.List<", e.getInput() );
+            assertEquals( 15, e.getErrorOffset() );
+        }
+
+        assertEquals( 15, JavaTypeName.tryParse( buffer.subSequence( 4, 19 ) ).getErrorIndex() );
+
+        try
+        {
+            JavaTypeName.parse( buffer, 4, 46 );
+            fail( "Expected 'IndexOutOfBoundsException' not thrown." );
+        }
+        catch ( final IndexOutOfBoundsException e )
+        {
+            assertNotNull( e.getMessage() );
+        }
+    }
+
+    @Test
+    public final void ParseBytes() throws Exception
+    {
+        final byte[] ascii = "Map<java.util.List<java.lang.String>, Object>".getBytes( StandardCharsets.US_ASCII );
+        assertSame( JavaTypeName.valueOf( "java.util.List<java.lang.String>" ),
+                    JavaTypeName.parse( ascii, 4, 32 ) );
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect( ascii.length );
+        buffer.put( ascii ).flip();
+        assertSame( JavaTypeName.valueOf( "Object" ), JavaTypeName.parse( buffer, 38, 6 ) );
+        assertEquals( 0, buffer.position() );
+
+        final byte[] utf8 = "java.lang.Gr\u00f6\u00dfe<\u4e2d>".getBytes( StandardCharsets.UTF_8 );
+        assertSame( JavaTypeName.valueOf( "java.lang.Gr\u00f6\u00dfe<\u4e2d>" ),
+                    JavaTypeName.parse( utf8, 0, utf8.length ) );
+
+        // Modified UTF-8 encodes supplementary characters as surrogate pairs.
+        final byte[] modifiedUtf8 =
+        {
+            'T', '<', (byte) 0xED, (byte) 0xA0, (byte) 0x81, (byte) 0xED, (byte) 0xB0, (byte) 0x80, '>'
+        };
+
+        assertSame( JavaTypeName.valueOf( "T<\ud801\udc00>" ), JavaTypeName.parse( modifiedUtf8, 0, 9 ) );
+
+        try
+        {
+            JavaTypeName.parse( new byte[]
+            {
+                'T', '<', (byte) 0xFF, '>'
+            }, 0, 4 );
+
+            fail( "Expected 'ParseException' not thrown." );
+        }
+        catch ( final ParseException e )
+        {
+            assertEquals( 2, e.getErrorOffset() );
+        }
+
+        // Modified UTF-8 encodes U+0000 using two bytes. Other overlong encodings are not decoded.
+        assertSame( JavaTypeName.valueOf( "T\u0000" ), JavaTypeName.parse( new byte[]
+        {
+            'T', (byte) 0xC0, (byte) 0x80
+        }, 0, 3 ) );
+
+        final byte[][] overlong =
+        {
+            {
+                'T', (byte) 0xC1, (byte) 0x81
+            },
+            {
+                'T', (byte) 0xE0, (byte) 0x80, (byte) 0xAE, 'A'
+            },
+            {
+                'T', (byte) 0xF0, (byte) 0x80, (byte) 0x80, (byte) 0xAE, 'A'
+            }
+        };
+
+        for ( final byte[] bytes : overlong )
+        {
+            try
+            {
+                JavaTypeName.parse( bytes, 0, bytes.length );
+                fail( "Expected 'ParseException' not thrown." );
+            }
+            catch ( final ParseException e )
+            {
+                assertEquals( 1, e.getErrorOffset() );
+            }
+        }
+    }
+
+    @Test
+    public final void ParsePosition() throws Exception
+    {
+        final String text = "{@link java.util.Map<String, ? extends List<Integer>>} or int [ ] [, List<String. and <";
+        final ParsePosition pos = new ParsePosition( 6 );
+
+        assertSame( JavaTypeName.valueOf( "java.util.Map<String, ? extends List<Integer>>" ),
+                    JavaTypeName.parse( text, pos ) );
+
+        assertEquals( 53, pos.getIndex() );
+        assertEquals( -1, pos.getErrorIndex() );
+
+        pos.setIndex( 57 );
+        assertSame( JavaTypeName.valueOf( "int[]" ), JavaTypeName.parse( text, pos ) );
+        assertEquals( 65, pos.getIndex() );
+
+        pos.setIndex( 68 );
+        assertSame( JavaTypeName.valueOf( "List" ), JavaTypeName.parse( text, pos ) );
+        assertEquals( 73, pos.getIndex() );
+
+        pos.setIndex( 85 );
+        assertNull( JavaTypeName.parse( text, pos ) );
+        assertEquals( 85, pos.getIndex() );
+        assertEquals( 86, pos.getErrorIndex() );
+
+        pos.setIndex( 0 );
+        assertSame( JavaTypeName.valueOf( "Outer<A>.Inner" ),
+                    JavaTypeName.parse( "Outer<A>.Inner<java.util.List<B>, ? super. C>. D", pos ) );
+
+        assertEquals( 14, pos.getIndex() );
+
+        pos.setIndex( 0 );
+        assertSame( JavaTypeName.valueOf( "java.util.List<String>[]" ),
+                    JavaTypeName.parse( new StringBuilder( "java.util.List<String> [ ] [ . " ), pos ) );
+
+        assertEquals( 26, pos.getIndex() );
+    }
+
+    @Test
+    public final void InvalidCharactersAreReportedFirst() throws Exception
+    {
+        assertInvalidCharacter( "]b-1aclass_<bjava]", "-", 2 );
+        assertInvalidCharacter( "x1 nullint,  1aclass-x1aint", "1", 13 );
+        assertInvalidCharacter( "java.util.List<int> ~", "~", 20 );
+    }
+
+    @Test
+    public final void ParseExceptionFields() throws Exception
+    {
+        try
+        {
+            JavaTypeName.parse( "java.util.List<extends>" );
+            fail( "Expected 'JavaParseException' not thrown." );
+        }
+        catch ( final JavaParseException e )
+        {
+            assertEquals( ParseErrorCode.INVALID_WORD, e.getErrorCode() );
+            assertEquals( "java.util.List<extends>", e.getInput() );
+            assertEquals( "extends", e.getToken().get() );
+            assertEquals( 15, e.getErrorOffset() );
+            assertEquals( "Invalid word 'extends' at position 15 compiling Java type name 'java.util.List<extends>'.",
+                          e.getMessage( Locale.ENGLISH ) );
+
+        }
+
+        try
+        {
+            JavaTypeName.valueOf( "java.util.List<" );
+            fail( "Expected 'JavaIllegalArgumentException' not thrown." );
+        }
+        catch ( final JavaIllegalArgumentException e )
+        {
+            assertEquals( ParseErrorCode.UNEXPECTED_END_OF_INPUT, e.getCause().getErrorCode() );
+            assertFalse( e.getCause().getToken().isPresent() );
+            assertEquals( 15, e.getCause().getErrorOffset() );
+            assertEquals( e.getCause().getMessage(), e.getMessage() );
+        }
+    }
+
+    @Test
+    public final void DeeplyNestedTypeArguments() throws Exception
+    {
+        final List<Throwable> failures = new ArrayList<>();
+
+        // Runs with a small stack, so that recursing once per nesting level would overflow the stack.
+        final Thread thread = new Thread( null, ()  -> assertNestedTypeArguments( failures ),
+                                          "DeeplyNestedTypeArguments", 128 * 1024 );
+
+        thread.start();
+        thread.join();
+
+        if ( !failures.isEmpty() )
+        {
+            throw new AssertionError( failures.get( 0 ) );
+        }
+    }
+
+    private static void assertNestedTypeArguments( final List<Throwable> failures )
+    {
+        try
+        {
+            for ( int depth = 1; depth <= 10000; depth *= 10 )
+            {
+                assertNestedTypeArguments( depth );
+            }
+        }
+        catch ( final Throwable t )
+        {
+            failures.add( t );
+        }
+    }
+
+    private static void assertNestedTypeArguments( final int depth ) throws Exception
+    {
+        final StringBuilder builder = new StringBuilder( depth * 32 );
+
+        for ( int i = 0; i < depth; i++ )
+        {
+            builder.append( "java.util.Map<K, java.util.List<? extends " );
+        }
+
+        builder.append( 'V' );
+
+        for ( int i = 0; i < depth; i++ )
+        {
+            builder.append( ">>" );
+        }
+
+        builder.append( "[]" );
+
+        final String name = builder.toString();
+        final JavaTypeName javaTypeName = JavaTypeName.parse( name );
+        assertEquals( name, javaTypeName.getName( true ) );
+        assertEquals( "[Ljava.util.Map;", javaTypeName.getClassName() );
+
+        JavaTypeName argument = javaTypeName;
+
+        for ( int i = 0; i < depth; i++ )
+        {
+            argument = argument.getArguments().get( 1 ).getTypeName().get().getArguments().get( 0 ).getTypeName().get();
+        }
+
+        assertEquals( "V", argument.getName( true ) );
+
+        final ParsePosition pos = new ParsePosition( 0 );
+        assertSame( javaTypeName, JavaTypeName.parse( name + " value", pos ) );
+        assertEquals( name.length(), pos.getIndex() );
+    }
+
     private static void assertBasicTypeName( final String typeName )
     {
         final JavaTypeName t = JavaTypeName.valueOf( typeName );
@@ -637,4 +1062,19 @@ public class JavaTypeNameTest
         }
     }
 
+    private static void assertInvalidCharacter( final String text, final String character, final int offset )
+    {
+        try
+        {
+            JavaTypeName.parse( text );
+            fail( "Expected 'JavaParseException' not thrown parsing Java type name '" + text + "'." );
+        }
+        catch ( final JavaParseException e )
+        {
+            assertEquals( ParseErrorCode.INVALID_CHARACTER, e.getErrorCode() );
+            assertEquals( character, e.getToken().get() );
+            assertEquals( offset, e.getErrorOffset() );
+        }
+    }
+
 }